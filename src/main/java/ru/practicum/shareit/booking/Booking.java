@@ -1,7 +1,11 @@
 package ru.practicum.shareit.booking;
 
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.persistence.PooledSequenceGenerator;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
@@ -14,9 +18,13 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @Entity
 @Table(name = "bookings")
+@NamedEntityGraph(name = "Booking.itemAndBooker",
+        attributeNodes = {@NamedAttributeNode("item"), @NamedAttributeNode("booker")})
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @GenericGenerator(name = "bookings_seq", strategy = PooledSequenceGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "bookings_seq"))
     private Long id;
 
     @Column(name = "start_date")
@@ -25,14 +33,17 @@ public class Booking {
     @Column(name = "end_date")
     private LocalDateTime end;
 
-    @ManyToOne(cascade = CascadeType.PERSIST)
+    @ManyToOne(fetch = FetchType.LAZY, cascade = CascadeType.PERSIST)
     @JoinColumn(name = "item_id", referencedColumnName = "id")
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "booker_id", referencedColumnName = "id")
     private User booker;
 
     @Enumerated(EnumType.STRING)
     private Status status;
+
+    @Version
+    private Long version;
 }
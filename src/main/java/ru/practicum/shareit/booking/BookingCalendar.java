@@ -0,0 +1,233 @@
+package ru.practicum.shareit.booking;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.persistence.TransactionCallbacks;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory calendar of WAITING and APPROVED booking windows per item.
+ */
+@Slf4j
+@Component
+public class BookingCalendar {
+    private static final Set<Status> ACTIVE_STATUSES = EnumSet.of(Status.WAITING, Status.APPROVED);
+    private static final int LOAD_BATCH_SIZE = 1_000;
+
+    private final BookingRepository bookingRepository;
+    private final Clock clock;
+
+    private final Map<Long, Windows> calendars = new ConcurrentHashMap<>();
+
+    @Autowired
+    public BookingCalendar(BookingRepository bookingRepository) {
+        this(bookingRepository, Clock.systemDefaultZone());
+    }
+
+    BookingCalendar(BookingRepository bookingRepository, Clock clock) {
+        this.bookingRepository = bookingRepository;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        calendars.clear();
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        long lastId = 0;
+        List<BookingDto> bookings = bookingRepository.findActiveAfter(ACTIVE_STATUSES, now, lastId,
+                PageRequest.of(0, LOAD_BATCH_SIZE));
+        while (!bookings.isEmpty()) {
+            bookings.forEach(booking -> apply(booking.getItemId(), booking.getId(), booking.getStart(), booking.getEnd()));
+            lastId = bookings.get(bookings.size() - 1).getId();
+            bookings = bookingRepository.findActiveAfter(ACTIVE_STATUSES, now, lastId,
+                    PageRequest.of(0, LOAD_BATCH_SIZE));
+        }
+        log.info("Booking calendar built for {} items", calendars.size());
+    }
+
+    public void add(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        Long bookingId = booking.getId();
+        LocalDateTime start = booking.getStart();
+        LocalDateTime end = booking.getEnd();
+
+        TransactionCallbacks.afterCommit(() -> apply(itemId, bookingId, start, end));
+    }
+
+    public void remove(Long itemId, Long bookingId) {
+        TransactionCallbacks.afterCommit(() -> calendars.computeIfPresent(itemId,
+                (id, windows) -> windows.without(bookingId, nowMicros()).orNull()));
+    }
+
+    public boolean isFree(Long itemId, LocalDateTime start, LocalDateTime end) {
+        Windows windows = calendars.get(itemId);
+        return windows == null || windows.isFree(toMicros(start), toMicros(end));
+    }
+
+    public LocalDateTime nextFreeSlot(Long itemId, LocalDateTime from, Duration duration) {
+        Windows windows = calendars.get(itemId);
+        if (windows == null) {
+            return from;
+        }
+        long start = windows.nextFreeSlot(toMicros(from), duration.toNanos() / 1_000);
+        return fromMicros(start);
+    }
+
+    private void apply(Long itemId, Long bookingId, LocalDateTime start, LocalDateTime end) {
+        long now = nowMicros();
+        calendars.compute(itemId, (id, windows) -> (windows == null ? Windows.EMPTY : windows)
+                .with(bookingId, toMicros(start), toMicros(end), now)
+                .orNull());
+    }
+
+    private long nowMicros() {
+        return toMicros(LocalDateTime.now(clock));
+    }
+
+    private static long toMicros(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + dateTime.getNano() / 1_000;
+    }
+
+    private static LocalDateTime fromMicros(long micros) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000), 0, ZoneOffset.UTC)
+                .plus(Math.floorMod(micros, 1_000_000), ChronoUnit.MICROS);
+    }
+
+    private static class Windows {
+        static final Windows EMPTY = new Windows(new long[0], new long[0], new long[0], new long[0]);
+
+        final long[] ids;
+        final long[] starts;
+        final long[] ends;
+        final long[] maxEnds;
+
+        Windows(long[] ids, long[] starts, long[] ends, long[] maxEnds) {
+            this.ids = ids;
+            this.starts = starts;
+            this.ends = ends;
+            this.maxEnds = maxEnds;
+        }
+
+        Windows with(long id, long start, long end, long now) {
+            Windows windows = without(id, now);
+            if (end <= now) {
+                return windows;
+            }
+
+            int size = windows.ids.length;
+            int position = upperBound(windows.starts, start);
+
+            long[] newIds = insert(windows.ids, position, id);
+            long[] newStarts = insert(windows.starts, position, start);
+            long[] newEnds = insert(windows.ends, position, end);
+            return new Windows(newIds, newStarts, newEnds, runningMax(newEnds, size + 1));
+        }
+
+        /**
+         * Drops the window with the given id together with every window that ended by {@code now}.
+         */
+        Windows without(long id, long now) {
+            long[] newIds = new long[ids.length];
+            long[] newStarts = new long[ids.length];
+            long[] newEnds = new long[ids.length];
+            int size = 0;
+
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] != id && ends[i] > now) {
+                    newIds[size] = ids[i];
+                    newStarts[size] = starts[i];
+                    newEnds[size++] = ends[i];
+                }
+            }
+            if (size == ids.length) {
+                return this;
+            }
+
+            newEnds = Arrays.copyOf(newEnds, size);
+            return new Windows(Arrays.copyOf(newIds, size), Arrays.copyOf(newStarts, size), newEnds,
+                    runningMax(newEnds, size));
+        }
+
+        Windows orNull() {
+            return ids.length == 0 ? null : this;
+        }
+
+        boolean isFree(long start, long end) {
+            int last = lowerBound(starts, end) - 1;
+            return last < 0 || maxEnds[last] <= start;
+        }
+
+        long nextFreeSlot(long from, long duration) {
+            long candidate = from;
+            for (int i = upperBound(maxEnds, from); i < starts.length; i++) {
+                if (starts[i] >= candidate + duration) {
+                    return candidate;
+                }
+                candidate = Math.max(candidate, ends[i]);
+            }
+            return candidate;
+        }
+
+        private static int lowerBound(long[] values, long key) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] < key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private static int upperBound(long[] values, long key) {
+            int low = 0;
+            int high = values.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (values[middle] <= key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private static long[] insert(long[] values, int position, long value) {
+            long[] result = Arrays.copyOf(values, values.length + 1);
+            System.arraycopy(values, position, result, position + 1, values.length - position);
+            result[position] = value;
+            return result;
+        }
+
+        private static long[] runningMax(long[] values, int size) {
+            long[] result = new long[size];
+            long max = Long.MIN_VALUE;
+            for (int i = 0; i < size; i++) {
+                max = Math.max(max, values[i]);
+                result[i] = max;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+/**
+ * Published when a booking is created or its status changes; both the booker and the item owner are notified.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingChangedEvent {
+    private final BookingResponseDto booking;
+    private final Long bookerId;
+    private final Long ownerId;
+
+    public static BookingChangedEvent of(Booking booking) {
+        return new BookingChangedEvent(BookingMapper.objectToDto(booking), booking.getBooker().getId(),
+                booking.getItem().getOwner().getId());
+    }
+}
@@ -1,11 +1,20 @@
 package ru.practicum.shareit.booking;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.exception.NoCorrectRequestException;
+import ru.practicum.shareit.web.NdjsonResponseWriter;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -13,7 +22,9 @@ import java.util.List;
 @RequestMapping(path = "/bookings")
 public class BookingController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final BookingService bookingService;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public BookingResponseDto createBooking(@RequestHeader(name = USER_ID_HEADER) Long userId,
@@ -28,6 +39,11 @@ public class BookingController {
         return bookingService.updateStatusById(bookingId, approved, userId);
     }
 
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBookings(@RequestHeader(name = USER_ID_HEADER) Long userId) {
+        return bookingService.subscribe(userId);
+    }
+
     @GetMapping("/{bookingId}")
     public BookingResponseDto getBookingInfo(@RequestHeader(name = USER_ID_HEADER) Long userId,
                                              @PathVariable(name = "bookingId") Long bookingId) {
@@ -35,18 +51,55 @@ public class BookingController {
     }
 
     @GetMapping
-    public List<BookingResponseDto> getAllBookingsBooker(@RequestHeader(name = USER_ID_HEADER) Long userId,
-                                                         @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                         @RequestParam(name = "size", defaultValue = "10") Integer size,
-                                                         @RequestParam(name = "state", defaultValue = "ALL") String state) {
-        return bookingService.getAllByBookerId(userId, state, from, size);
+    public ResponseEntity<List<BookingResponseDto>> getAllBookingsBooker(
+            @RequestHeader(name = USER_ID_HEADER) Long userId,
+            @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingService.getAllByBookerId(userId, state, from, size));
+        }
+        return toResponse(bookingService.getPageByBookerId(userId, state, cursor, size));
     }
 
     @GetMapping("/owner")
-    public List<BookingResponseDto> getAllBookingsOwner(@RequestHeader(name = USER_ID_HEADER) Long userId,
-                                                        @RequestParam(name = "from", defaultValue = "0") Integer from,
-                                                        @RequestParam(name = "size", defaultValue = "10") Integer size,
-                                                        @RequestParam(name = "state", defaultValue = "ALL") String state) {
-        return bookingService.getAllByOwnerId(userId, state, from, size);
+    public ResponseEntity<List<BookingResponseDto>> getAllBookingsOwner(
+            @RequestHeader(name = USER_ID_HEADER) Long userId,
+            @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "state", defaultValue = "ALL") String state,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        if (cursor == null) {
+            return ResponseEntity.ok(bookingService.getAllByOwnerId(userId, state, from, size));
+        }
+        return toResponse(bookingService.getPageByOwnerId(userId, state, cursor, size));
+    }
+
+    @GetMapping("/owner/export")
+    public void exportBookingsOwner(@RequestHeader(name = USER_ID_HEADER) Long userId,
+                                    @RequestParam(name = "state", defaultValue = "ALL") String state,
+                                    @RequestParam(name = "format", defaultValue = "ndjson") String format,
+                                    HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.from(format)
+                .orElseThrow(() -> new NoCorrectRequestException("Unknown format: " + format));
+
+        if (exportFormat == ExportFormat.CSV) {
+            BookingCsvWriter writer = new BookingCsvWriter(response);
+            bookingService.exportByOwnerId(userId, state, writer);
+            writer.finish();
+        } else {
+            NdjsonResponseWriter<BookingResponseDto> writer = new NdjsonResponseWriter<>(objectMapper, response);
+            bookingService.exportByOwnerId(userId, state, writer);
+            writer.finish();
+        }
+    }
+
+    private ResponseEntity<List<BookingResponseDto>> toResponse(BookingPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getBookings());
     }
 }
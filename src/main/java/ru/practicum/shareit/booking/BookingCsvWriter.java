@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking;
+
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Consumer;
+
+/**
+ * Writes exported bookings to the response as CSV, one line per booking.
+ */
+class BookingCsvWriter implements Consumer<BookingResponseDto> {
+    private static final String CSV_HEADER = "id,start,end,status,booker_id,booker_name,item_id,item_name";
+
+    private final HttpServletResponse response;
+    private Writer csv;
+
+    BookingCsvWriter(HttpServletResponse response) {
+        this.response = response;
+    }
+
+    @Override
+    public void accept(BookingResponseDto booking) {
+        try {
+            writeCsv(open(), booking);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    void finish() throws IOException {
+        open().close();
+    }
+
+    private Writer open() throws IOException {
+        if (csv == null) {
+            response.setContentType("text/csv");
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+            csv = new BufferedWriter(new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+            csv.write(CSV_HEADER);
+            csv.write('\n');
+        }
+        return csv;
+    }
+
+    private static void writeCsv(Writer csv, BookingResponseDto booking) throws IOException {
+        csv.write(String.valueOf(booking.getId()));
+        csv.write(',');
+        csv.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(booking.getStart()));
+        csv.write(',');
+        csv.write(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(booking.getEnd()));
+        csv.write(',');
+        csv.write(String.valueOf(booking.getStatus()));
+        csv.write(',');
+        csv.write(String.valueOf(booking.getBooker().getId()));
+        csv.write(',');
+        csv.write(escape(booking.getBooker().getName()));
+        csv.write(',');
+        csv.write(String.valueOf(booking.getItem().getId()));
+        csv.write(',');
+        csv.write(escape(booking.getItem().getName()));
+        csv.write('\n');
+    }
+
+    private static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
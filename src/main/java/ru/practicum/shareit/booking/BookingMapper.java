@@ -5,9 +5,6 @@ import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.user.dto.UserDto;
 
-import java.util.List;
-import java.util.stream.Collectors;
-
 public class BookingMapper {
 
     public static BookingResponseDto objectToDto(Booking booking) {
@@ -37,11 +34,4 @@ public class BookingMapper {
                 .end(bookingDto.getEnd())
                 .build();
     }
-
-
-    public static List<BookingResponseDto> objectToDto(List<Booking> bookings) {
-        return bookings.stream()
-                .map(BookingMapper::objectToDto)
-                .collect(Collectors.toList());
-    }
 }
\ No newline at end of file
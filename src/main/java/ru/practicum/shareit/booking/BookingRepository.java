@@ -2,51 +2,133 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+
+import javax.persistence.QueryHint;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
-    List<Booking> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime end, Pageable pageable);
+    @Override
+    @EntityGraph("Booking.itemAndBooker")
+    Optional<Booking> findById(Long id);
+
+    String SELECT_BOOKING_RESPONSE = "select new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "b.id, b.start, b.end, b.status, u.id, u.name, i.id, i.name) " +
+            "from Booking as b " +
+            "join b.booker as u " +
+            "join b.item as i ";
 
-    List<Booking> findAllByBookerId(Long bookerId, Pageable pageable);
+    @Query(value = SELECT_BOOKING_RESPONSE + "where u.id=?1 and b.end<?2")
+    List<BookingResponseDto> findByBookerIdAndEndIsBefore(Long bookerId, LocalDateTime end, Pageable pageable);
 
-    List<Booking> findByBookerIdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start, LocalDateTime end,
-                                                              Pageable pageable);
+    @Query(value = SELECT_BOOKING_RESPONSE + "where u.id=?1")
+    List<BookingResponseDto> findAllByBookerId(Long bookerId, Pageable pageable);
 
-    List<Booking> findByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime start, Pageable pageable);
+    @Query(value = SELECT_BOOKING_RESPONSE + "where u.id=?1 and b.start<?2 and b.end>?3")
+    List<BookingResponseDto> findByBookerIdAndStartIsBeforeAndEndIsAfter(Long bookerId, LocalDateTime start,
+                                                                         LocalDateTime end, Pageable pageable);
 
-    List<Booking> findAllByItemIdIn(List<Long> itemId, Pageable pageable);
+    @Query(value = SELECT_BOOKING_RESPONSE + "where u.id=?1 and b.start>?2")
+    List<BookingResponseDto> findByBookerIdAndStartIsAfter(Long bookerId, LocalDateTime start, Pageable pageable);
 
-    List<Booking> findByItemIdInAndStartIsBeforeAndEndIsAfter(List<Long> itemId, LocalDateTime start, LocalDateTime end,
-                                                              Pageable pageable);
+    @Query(value = SELECT_BOOKING_RESPONSE + "where i.owner.id=?1")
+    List<BookingResponseDto> findAllByItemOwnerId(Long ownerId, Pageable pageable);
 
-    List<Booking> findByItemIdInAndEndIsBefore(List<Long> itemId, LocalDateTime date, Pageable pageable);
+    @Query(value = SELECT_BOOKING_RESPONSE + "where i.owner.id=?1 and b.start<?2 and b.end>?3")
+    List<BookingResponseDto> findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(Long ownerId, LocalDateTime start,
+                                                                            LocalDateTime end, Pageable pageable);
 
-    List<Booking> findByItemIdInAndStartIsAfterAndStatusIs(List<Long> itemId, LocalDateTime date, Status bookingStatus,
-                                                           Pageable pageable);
+    @Query(value = SELECT_BOOKING_RESPONSE + "where i.owner.id=?1 and b.end<?2")
+    List<BookingResponseDto> findByItemOwnerIdAndEndIsBefore(Long ownerId, LocalDateTime date, Pageable pageable);
 
-    List<Booking> findByBookerIdAndStartIsAfterAndStatusIs(Long userId, LocalDateTime date, Status bookingStatus,
-                                                           Pageable pageable);
+    @Query(value = SELECT_BOOKING_RESPONSE + "where i.owner.id=?1 and b.start>?2 and b.status=?3")
+    List<BookingResponseDto> findByItemOwnerIdAndStartIsAfterAndStatusIs(Long ownerId, LocalDateTime date,
+                                                                         Status bookingStatus, Pageable pageable);
 
-    List<Booking> findByItemIdInAndStartIsAfter(List<Long> itemIdList, LocalDateTime date, Pageable pageable);
+    @Query(value = SELECT_BOOKING_RESPONSE + "where u.id=?1 and b.start>?2 and b.status=?3")
+    List<BookingResponseDto> findByBookerIdAndStartIsAfterAndStatusIs(Long userId, LocalDateTime date,
+                                                                      Status bookingStatus, Pageable pageable);
+
+    @Query(value = SELECT_BOOKING_RESPONSE + "where i.owner.id=?1 and b.start>?2")
+    List<BookingResponseDto> findByItemOwnerIdAndStartIsAfter(Long ownerId, LocalDateTime date, Pageable pageable);
 
     List<Booking> findByItemIdAndEndIsBefore(Long itemId, LocalDateTime date);
 
-    @Query(value = "select new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.booker.id) " +
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update Booking as b set b.status = ?4, b.version = b.version + 1 " +
+            "where b.id = ?1 and b.version = ?2 and b.status = ?3")
+    int updateStatus(Long id, Long version, Status expected, Status status);
+
+    boolean existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(Long itemId, Collection<Status> statuses,
+                                                                   LocalDateTime end, LocalDateTime start);
+
+    @Query(value = "select new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.booker.id, b.item.id) " +
+            "from Booking as b " +
+            "where b.status in ?1 and b.end>?2 and b.id>?3 " +
+            "order by b.id")
+    List<BookingDto> findActiveAfter(Collection<Status> statuses, LocalDateTime date, Long lastId, Pageable pageable);
+
+    @Query(value = "select new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.booker.id, b.item.id) " +
             "from Booking as b " +
             "where b.item.id=?1 and b.item.owner.id=?2 and b.status=?3 and b.start<?4 " +
             "order by b.start desc ")
     Page<BookingDto> findLastBooking(Long itemId, Long ownerId, Status status, LocalDateTime date, Pageable pageable);
 
-    @Query(value = "select new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.booker.id) " +
+    @Query(value = "select new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.booker.id, b.item.id) " +
             "from Booking as b " +
             "where b.item.id=?1 and b.item.owner.id=?2 and b.status=?3 and b.start>?4 " +
             "order by b.start asc")
     Page<BookingDto> findNextBooking(Long itemId, Long ownerId, Status status, LocalDateTime date, Pageable pageable);
-}
\ No newline at end of file
+
+    @Query(value = "select new ru.practicum.shareit.booking.dto.BookingDto(b.id, b.start, b.end, b.booker.id, b.item.id) " +
+            "from Booking as b " +
+            "where b.item.id in ?1 and b.status=?2 " +
+            "and (b.start = (select max(l.start) from Booking as l " +
+            "where l.item.id=b.item.id and l.status=?2 and l.start<?3) " +
+            "or b.start = (select min(n.start) from Booking as n " +
+            "where n.item.id=b.item.id and n.status=?2 and n.start>?3)) " +
+            "order by b.item.id, b.start, b.id")
+    List<BookingDto> findLastAndNextBookings(Collection<Long> itemIds, Status status, LocalDateTime date);
+
+    @Query(value = SELECT_BOOKING_RESPONSE +
+            "where u.id=?1 " +
+            "and b.start>?2 and b.start<?3 and b.end>?4 and b.end<?5 and b.status in ?6 " +
+            "and (b.start<?7 or (b.start=?7 and b.id<?8)) " +
+            "order by b.start desc, b.id desc")
+    List<BookingResponseDto> findPageByBookerId(Long bookerId, LocalDateTime startFrom, LocalDateTime startTo,
+                                                LocalDateTime endFrom, LocalDateTime endTo, Collection<Status> statuses,
+                                                LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @Query(value = SELECT_BOOKING_RESPONSE +
+            "where i.owner.id=?1 " +
+            "and b.start>?2 and b.start<?3 and b.end>?4 and b.end<?5 and b.status in ?6 " +
+            "and (b.start<?7 or (b.start=?7 and b.id<?8)) " +
+            "order by b.start desc, b.id desc")
+    List<BookingResponseDto> findPageByOwnerId(Long ownerId, LocalDateTime startFrom, LocalDateTime startTo,
+                                               LocalDateTime endFrom, LocalDateTime endTo, Collection<Status> statuses,
+                                               LocalDateTime cursorStart, Long cursorId, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query(value = SELECT_BOOKING_RESPONSE +
+            "where i.owner.id=?1 " +
+            "and b.start>?2 and b.start<?3 and b.end>?4 and b.end<?5 and b.status in ?6 " +
+            "order by b.start desc, b.id desc")
+    Stream<BookingResponseDto> streamByOwnerId(Long ownerId, LocalDateTime startFrom, LocalDateTime startTo,
+                                               LocalDateTime endFrom, LocalDateTime endTo,
+                                               Collection<Status> statuses);
+}
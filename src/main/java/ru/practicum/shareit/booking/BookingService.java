@@ -1,20 +1,31 @@
 package ru.practicum.shareit.booking;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface BookingService {
     BookingResponseDto createBooking(Long userId, BookingRequestDto bookingRequestDto);
 
     BookingResponseDto updateStatusById(Long bookingId, Boolean approved, Long userId);
 
+    SseEmitter subscribe(Long userId);
+
     BookingResponseDto getBookingById(Long bookingId, Long userId);
 
     List<BookingResponseDto> getAllByBookerId(Long userId, String state, Integer from, Integer size);
 
     List<BookingResponseDto> getAllByOwnerId(Long userId, String state,  Integer from, Integer size);
 
+    BookingPageDto getPageByBookerId(Long userId, String state, String cursor, Integer size);
+
+    BookingPageDto getPageByOwnerId(Long userId, String state, String cursor, Integer size);
+
+    void exportByOwnerId(Long userId, String state, Consumer<BookingResponseDto> bookings);
+
 }
 
@@ -1,34 +1,51 @@
 package ru.practicum.shareit.booking;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NoCorrectRequestException;
 import ru.practicum.shareit.exception.NoFoundObjectException;
 import ru.practicum.shareit.exception.NoValidArgumentException;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.item.ItemDetailsCache;
 import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserMapper;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.web.KeysetCursor;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class BookingServiceImpl implements BookingService {
+    private static final Set<Status> ACTIVE_STATUSES = EnumSet.of(Status.WAITING, Status.APPROVED);
+
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final ItemRepository itemRepository;
+    private final ItemBookingLocks itemBookingLocks;
+    private final BookingCalendar bookingCalendar;
+    private final ItemDetailsCache itemDetailsCache;
+    private final BookingStream bookingStream;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -52,13 +69,31 @@ public class BookingServiceImpl implements BookingService {
         booking.setItem(item);
         booking.setStatus(Status.WAITING);
 
-        Booking savedBooking = bookingRepository.save(booking);
+        Booking savedBooking = itemBookingLocks.withItemLock(item.getId(), () -> saveIfFree(booking));
+        bookingCalendar.add(savedBooking);
+        eventPublisher.publishEvent(BookingChangedEvent.of(savedBooking));
+
         return BookingMapper.objectToDto(savedBooking);
     }
 
+    private Booking saveIfFree(Booking booking) {
+        if (bookingRepository.existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(booking.getItem().getId(),
+                ACTIVE_STATUSES, booking.getEnd(), booking.getStart())) {
+            throw new NoCorrectRequestException("Item is already booked for these dates");
+        }
+
+        try {
+            return bookingRepository.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException ex) {
+            throw new NoCorrectRequestException("Item is already booked for these dates");
+        }
+    }
+
     @Override
     @Transactional
     public BookingResponseDto updateStatusById(Long id, Boolean approved, Long userId) {
+        Status status = approved ? Status.APPROVED : Status.REJECTED;
+
         Booking booking = bookingRepository.findById(id)
                 .orElseThrow(() -> new NoFoundObjectException(String.format("Booking with id='%s' not found", id)));
 
@@ -68,14 +103,23 @@ public class BookingServiceImpl implements BookingService {
         if (!booking.getStatus().equals(Status.WAITING))
             throw new NoCorrectRequestException("Booker status must be WAITING.");
 
-        if (approved) {
-            booking.setStatus(Status.APPROVED);
-        } else {
-            booking.setStatus(Status.REJECTED);
+        if (bookingRepository.updateStatus(id, booking.getVersion(), Status.WAITING, status) != 1) {
+            throw new ConflictException(String.format("Booking with id='%s' was modified concurrently, try again", id));
         }
 
-        Booking savedBooking = bookingRepository.save(booking);
-        return BookingMapper.objectToDto(savedBooking);
+        booking.setStatus(status);
+        if (status == Status.REJECTED) {
+            bookingCalendar.remove(booking.getItem().getId(), id);
+        }
+        itemDetailsCache.invalidate(booking.getItem().getId());
+        eventPublisher.publishEvent(BookingChangedEvent.of(booking));
+        return BookingMapper.objectToDto(booking);
+    }
+
+    @Override
+    public SseEmitter subscribe(Long userId) {
+        userService.checkExistUserById(userId);
+        return bookingStream.subscribe(userId);
     }
 
     @Override
@@ -103,29 +147,26 @@ public class BookingServiceImpl implements BookingService {
 
         Pageable pageable = getPageable(from, size);
 
-        State bookingState = State.from(state)
-                .orElseThrow(() -> new NoCorrectRequestException("Unknown state: " + state));
+        State bookingState = getState(state);
 
         LocalDateTime dateTimeNow = LocalDateTime.now();
 
         switch (bookingState) {
             case CURRENT:
-                return BookingMapper.objectToDto(bookingRepository
-                        .findByBookerIdAndStartIsBeforeAndEndIsAfter(userId, dateTimeNow, dateTimeNow, pageable));
+                return bookingRepository
+                        .findByBookerIdAndStartIsBeforeAndEndIsAfter(userId, dateTimeNow, dateTimeNow, pageable);
             case PAST:
-                return BookingMapper.objectToDto(bookingRepository
-                        .findByBookerIdAndEndIsBefore(userId, dateTimeNow, pageable));
+                return bookingRepository.findByBookerIdAndEndIsBefore(userId, dateTimeNow, pageable);
             case FUTURE:
-                return BookingMapper.objectToDto(bookingRepository
-                        .findByBookerIdAndStartIsAfter(userId, dateTimeNow, pageable));
+                return bookingRepository.findByBookerIdAndStartIsAfter(userId, dateTimeNow, pageable);
             case WAITING:
-                return BookingMapper.objectToDto(bookingRepository
-                        .findByBookerIdAndStartIsAfterAndStatusIs(userId, dateTimeNow, Status.WAITING, pageable));
+                return bookingRepository
+                        .findByBookerIdAndStartIsAfterAndStatusIs(userId, dateTimeNow, Status.WAITING, pageable);
             case REJECTED:
-                return BookingMapper.objectToDto(bookingRepository
-                        .findByBookerIdAndStartIsAfterAndStatusIs(userId, dateTimeNow, Status.REJECTED, pageable));
+                return bookingRepository
+                        .findByBookerIdAndStartIsAfterAndStatusIs(userId, dateTimeNow, Status.REJECTED, pageable);
             default:
-                return BookingMapper.objectToDto(bookingRepository.findAllByBookerId(userId, pageable));
+                return bookingRepository.findAllByBookerId(userId, pageable);
         }
     }
 
@@ -135,35 +176,91 @@ public class BookingServiceImpl implements BookingService {
 
         Pageable pageable = getPageable(from, size);
 
-        State bookingState = State.from(state)
-                .orElseThrow(() -> new NoCorrectRequestException("Unknown state: " + state));
-
-        List<Long> itemIdList = itemRepository.findAllByOwnerId(user.getId())
-                .stream()
-                .map(Item::getId)
-                .collect(Collectors.toList());
+        State bookingState = getState(state);
 
         LocalDateTime dateTimeNow = LocalDateTime.now();
 
         switch (bookingState) {
             case CURRENT:
-                return BookingMapper.objectToDto(bookingRepository
-                        .findByItemIdInAndStartIsBeforeAndEndIsAfter(itemIdList, dateTimeNow, dateTimeNow, pageable));
+                return bookingRepository
+                        .findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(user.getId(), dateTimeNow, dateTimeNow,
+                                pageable);
             case PAST:
-                return BookingMapper.objectToDto(bookingRepository
-                        .findByItemIdInAndEndIsBefore(itemIdList, dateTimeNow, pageable));
+                return bookingRepository.findByItemOwnerIdAndEndIsBefore(user.getId(), dateTimeNow, pageable);
             case FUTURE:
-                return BookingMapper.objectToDto(bookingRepository
-                        .findByItemIdInAndStartIsAfter(itemIdList, dateTimeNow, pageable));
+                return bookingRepository.findByItemOwnerIdAndStartIsAfter(user.getId(), dateTimeNow, pageable);
             case WAITING:
-                return BookingMapper.objectToDto(bookingRepository
-                        .findByItemIdInAndStartIsAfterAndStatusIs(itemIdList, dateTimeNow, Status.WAITING, pageable));
+                return bookingRepository
+                        .findByItemOwnerIdAndStartIsAfterAndStatusIs(user.getId(), dateTimeNow, Status.WAITING,
+                                pageable);
             case REJECTED:
-                return BookingMapper.objectToDto(bookingRepository
-                        .findByItemIdInAndStartIsAfterAndStatusIs(itemIdList, dateTimeNow, Status.REJECTED, pageable));
+                return bookingRepository
+                        .findByItemOwnerIdAndStartIsAfterAndStatusIs(user.getId(), dateTimeNow, Status.REJECTED,
+                                pageable);
             default:
-                return BookingMapper.objectToDto(bookingRepository.findAllByItemIdIn(itemIdList, pageable));
+                return bookingRepository.findAllByItemOwnerId(user.getId(), pageable);
+        }
+    }
+
+    @Override
+    public BookingPageDto getPageByBookerId(Long userId, String state, String cursor, Integer size) {
+        userService.checkExistUserById(userId);
+
+        validatePageableParameters(0, size);
+
+        BookingStateFilter filter = BookingStateFilter.of(getState(state), LocalDateTime.now());
+        KeysetCursor position = KeysetCursor.decode(cursor);
+
+        List<BookingResponseDto> bookings = bookingRepository.findPageByBookerId(userId,
+                filter.getStartFrom(), filter.getStartTo(), filter.getEndFrom(), filter.getEndTo(),
+                filter.getStatuses(), position.getTimestamp(), position.getId(), PageRequest.of(0, size + 1));
+
+        return toPage(bookings, size);
+    }
+
+    @Override
+    public BookingPageDto getPageByOwnerId(Long userId, String state, String cursor, Integer size) {
+        userService.checkExistUserById(userId);
+
+        validatePageableParameters(0, size);
+
+        BookingStateFilter filter = BookingStateFilter.of(getState(state), LocalDateTime.now());
+        KeysetCursor position = KeysetCursor.decode(cursor);
+
+        List<BookingResponseDto> bookings = bookingRepository.findPageByOwnerId(userId,
+                filter.getStartFrom(), filter.getStartTo(), filter.getEndFrom(), filter.getEndTo(),
+                filter.getStatuses(), position.getTimestamp(), position.getId(), PageRequest.of(0, size + 1));
+
+        return toPage(bookings, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void exportByOwnerId(Long userId, String state, Consumer<BookingResponseDto> bookings) {
+        userService.checkExistUserById(userId);
+
+        BookingStateFilter filter = BookingStateFilter.of(getState(state), LocalDateTime.now());
+
+        try (Stream<BookingResponseDto> stream = bookingRepository.streamByOwnerId(userId,
+                filter.getStartFrom(), filter.getStartTo(), filter.getEndFrom(), filter.getEndTo(),
+                filter.getStatuses())) {
+            stream.forEach(bookings);
+        }
+    }
+
+    private BookingPageDto toPage(List<BookingResponseDto> bookings, Integer size) {
+        if (bookings.size() <= size) {
+            return new BookingPageDto(bookings, null);
         }
+
+        List<BookingResponseDto> page = bookings.subList(0, size);
+        BookingResponseDto last = page.get(size - 1);
+        return new BookingPageDto(page, new KeysetCursor(last.getStart(), last.getId()).encode());
+    }
+
+    private State getState(String state) {
+        return State.from(state)
+                .orElseThrow(() -> new NoCorrectRequestException("Unknown state: " + state));
     }
 
     private Pageable getPageable(Integer from, Integer size) {
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Open date ranges and statuses matching a booking {@link State}, so every state can be served by one query.
+ */
+@Getter
+@AllArgsConstructor
+public class BookingStateFilter {
+    public static final LocalDateTime MIN_DATE = LocalDateTime.of(1900, 1, 1, 0, 0);
+    public static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 0, 0);
+
+    private final LocalDateTime startFrom;
+    private final LocalDateTime startTo;
+    private final LocalDateTime endFrom;
+    private final LocalDateTime endTo;
+    private final Set<Status> statuses;
+
+    public static BookingStateFilter of(State state, LocalDateTime now) {
+        switch (state) {
+            case CURRENT:
+                return new BookingStateFilter(MIN_DATE, now, now, MAX_DATE, EnumSet.allOf(Status.class));
+            case PAST:
+                return new BookingStateFilter(MIN_DATE, MAX_DATE, MIN_DATE, now, EnumSet.allOf(Status.class));
+            case FUTURE:
+                return new BookingStateFilter(now, MAX_DATE, MIN_DATE, MAX_DATE, EnumSet.allOf(Status.class));
+            case WAITING:
+                return new BookingStateFilter(now, MAX_DATE, MIN_DATE, MAX_DATE, EnumSet.of(Status.WAITING));
+            case REJECTED:
+                return new BookingStateFilter(now, MAX_DATE, MIN_DATE, MAX_DATE, EnumSet.of(Status.REJECTED));
+            default:
+                return new BookingStateFilter(MIN_DATE, MAX_DATE, MIN_DATE, MAX_DATE, EnumSet.allOf(Status.class));
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.event.EventSubscriptions;
+
+import java.time.Duration;
+
+/**
+ * Pushes created bookings and status changes to the booker and the item owner, after commit.
+ */
+@Component
+public class BookingStream {
+    public static final String BOOKING_EVENT = "booking";
+
+    private final EventSubscriptions subscriptions;
+
+    public BookingStream(TaskExecutor taskExecutor,
+                         @Value("${shareit.booking.stream.buffer-size:256}") int bufferSize,
+                         @Value("${shareit.booking.stream.timeout:30m}") Duration timeout) {
+        this.subscriptions = new EventSubscriptions(taskExecutor, bufferSize, timeout);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        return subscriptions.subscribe(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingChanged(BookingChangedEvent event) {
+        subscriptions.publish(event.getBookerId(), BOOKING_EVENT, event.getBooking());
+        subscriptions.publish(event.getOwnerId(), BOOKING_EVENT, event.getBooking());
+    }
+}
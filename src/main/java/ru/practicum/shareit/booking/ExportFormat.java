@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking;
+
+import java.util.Optional;
+
+public enum ExportFormat {
+    NDJSON,
+    CSV;
+
+    public static Optional<ExportFormat> from(String format) {
+        for (ExportFormat exportFormat : values()) {
+            if (exportFormat.name().equalsIgnoreCase(format))
+                return Optional.of(exportFormat);
+        }
+        return Optional.empty();
+    }
+}
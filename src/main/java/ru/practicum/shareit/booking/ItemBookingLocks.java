@@ -0,0 +1,39 @@
+package ru.practicum.shareit.booking;
+
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.persistence.TransactionCallbacks;
+
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Striped per-item locks held until the surrounding transaction completes.
+ */
+@Component
+public class ItemBookingLocks {
+    private static final int STRIPES = 64;
+
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    public ItemBookingLocks() {
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T withItemLock(Long itemId, Supplier<T> action) {
+        ReentrantLock lock = locks[Long.hashCode(itemId) & (STRIPES - 1)];
+        lock.lock();
+
+        T result;
+        try {
+            result = action.get();
+        } catch (RuntimeException | Error ex) {
+            lock.unlock();
+            throw ex;
+        }
+
+        TransactionCallbacks.afterCompletion(lock::unlock);
+        return result;
+    }
+}
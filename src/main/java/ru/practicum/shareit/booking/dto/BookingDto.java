@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -16,4 +17,7 @@ public class BookingDto {
     private LocalDateTime start;
     private LocalDateTime end;
     private Long bookerId;
+
+    @JsonIgnore
+    private Long itemId;
 }
@@ -21,4 +21,10 @@ public class BookingResponseDto {
     private UserDto booker;
     private ItemDto item;
     private Status status;
+
+    public BookingResponseDto(Long id, LocalDateTime start, LocalDateTime end, Status status,
+                              Long bookerId, String bookerName, Long itemId, String itemName) {
+        this(id, start, end, new UserDto(bookerId, bookerName),
+                ItemDto.builder().id(itemId).name(itemName).build(), status);
+    }
 }
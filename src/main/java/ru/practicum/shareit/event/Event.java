@@ -0,0 +1,14 @@
+package ru.practicum.shareit.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Named payload pushed to subscribers.
+ */
+@Getter
+@AllArgsConstructor
+public class Event {
+    private final String name;
+    private final Object data;
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.event;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One SSE connection with a bounded queue of pending events.
+ */
+@Slf4j
+public class EventSubscriber {
+    private final Long userId;
+    private final SseEmitter emitter;
+    private final BlockingQueue<Event> queue;
+    private final Executor executor;
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private volatile boolean closed;
+
+    EventSubscriber(Long userId, SseEmitter emitter, int bufferSize, Executor executor) {
+        this.userId = userId;
+        this.emitter = emitter;
+        this.queue = new ArrayBlockingQueue<>(bufferSize);
+        this.executor = executor;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    void offer(Event event) {
+        if (closed) {
+            return;
+        }
+
+        if (!queue.offer(event)) {
+            log.warn("Subscriber of user with id='{}' is too slow, {} events pending; disconnecting",
+                    userId, queue.size());
+            close();
+            return;
+        }
+        scheduleDrain();
+    }
+
+    void close() {
+        closed = true;
+        queue.clear();
+        emitter.complete();
+    }
+
+    void closed() {
+        closed = true;
+        queue.clear();
+    }
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            Event event;
+            while (!closed && (event = queue.poll()) != null) {
+                emitter.send(SseEmitter.event().name(event.getName()).data(event.getData()));
+            }
+        } catch (IOException | IllegalStateException ex) {
+            log.debug("Subscriber of user with id='{}' is gone: {}", userId, ex.getMessage());
+            closed();
+        } finally {
+            draining.set(false);
+        }
+
+        // an event offered while this task was finishing would otherwise wait for the next one
+        if (!closed && !queue.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package ru.practicum.shareit.event;
+
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+
+/**
+ * SSE subscribers grouped by user.
+ */
+public class EventSubscriptions {
+    private final Map<Long, Set<EventSubscriber>> subscribers = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final int bufferSize;
+    private final Duration timeout;
+
+    public EventSubscriptions(Executor executor, int bufferSize, Duration timeout) {
+        this.executor = executor;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        EventSubscriber subscriber = new EventSubscriber(userId, emitter, bufferSize, executor);
+
+        subscribers.computeIfAbsent(userId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+
+        Runnable remove = () -> {
+            subscriber.closed();
+            subscribers.computeIfPresent(userId, (id, userSubscribers) -> {
+                userSubscribers.remove(subscriber);
+                return userSubscribers.isEmpty() ? null : userSubscribers;
+            });
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(ex -> remove.run());
+
+        return emitter;
+    }
+
+    public void publish(Long userId, String name, Object data) {
+        Set<EventSubscriber> userSubscribers = subscribers.get(userId);
+        if (userSubscribers == null) {
+            return;
+        }
+
+        Event event = new Event(name, data);
+        userSubscribers.forEach(subscriber -> subscriber.offer(event));
+    }
+
+    public void broadcast(Predicate<Long> userFilter, String name, Object data) {
+        Event event = new Event(name, data);
+
+        subscribers.forEach((userId, userSubscribers) -> {
+            if (userFilter.test(userId)) {
+                userSubscribers.forEach(subscriber -> subscriber.offer(event));
+            }
+        });
+    }
+
+    public int size() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+}
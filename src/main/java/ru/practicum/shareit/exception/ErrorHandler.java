@@ -4,6 +4,8 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.util.ClassUtils;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -79,6 +81,28 @@ public class ErrorHandler extends ResponseEntityExceptionHandler {
                 .body(response);
     }
 
+    @ExceptionHandler(value = ConflictException.class)
+    public ResponseEntity<Object> handleConflictException(final ConflictException ex) {
+        Map<String, Object> response = new LinkedHashMap<>();
+
+        response.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+        response.put("status", HttpStatus.CONFLICT.name());
+        response.put("message", ex.getMessage());
+
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(response);
+    }
+
+    @ExceptionHandler(value = ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<Object> handleOptimisticLockingFailureException(
+            final ObjectOptimisticLockingFailureException ex) {
+        String entity = ex.getPersistentClassName() != null
+                ? ClassUtils.getShortName(ex.getPersistentClassName()) : "Object";
+        return handleConflictException(new ConflictException(String.format(
+                "%s with id='%s' was modified concurrently, try again", entity, ex.getIdentifier())));
+    }
+
     @ExceptionHandler(value = {NoCorrectRequestException.class})
     public ResponseEntity<Object> handleNoCorrectRequestException(final RuntimeException ex) {
         Map<String, Object> response = new LinkedHashMap<>();
@@ -0,0 +1,208 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.web.JsonArrayChunkReader;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Creates and updates items of one owner in batches, reporting the result of every row.
+ */
+@Slf4j
+@Component
+public class ItemBatchImporter {
+    private final ItemRepository itemRepository;
+    private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemDetailsCache itemDetailsCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonArrayChunkReader chunkReader;
+    private final int batchSize;
+
+    public ItemBatchImporter(ItemRepository itemRepository,
+                             ItemRequestRepository itemRequestRepository,
+                             ItemSearchIndex itemSearchIndex,
+                             ItemDetailsCache itemDetailsCache,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager,
+                             JsonArrayChunkReader chunkReader,
+                             @Value("${shareit.item.import.batch-size:500}") int batchSize) {
+        this.itemRepository = itemRepository;
+        this.itemRequestRepository = itemRequestRepository;
+        this.itemSearchIndex = itemSearchIndex;
+        this.itemDetailsCache = itemDetailsCache;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkReader = chunkReader;
+        this.batchSize = batchSize;
+    }
+
+    public void importItems(User owner, InputStream body, Consumer<ItemBatchResultDto> results) {
+        chunkReader.read(body, ItemRequestDto.class, "item", batchSize, new JsonArrayChunkReader.ChunkHandler<>() {
+            @Override
+            public void accept(int firstIndex, List<ItemRequestDto> items) {
+                List<Row> chunk = new ArrayList<>(items.size());
+                for (ItemRequestDto item : items) {
+                    String error = item.getId() == null ? chunkReader.validate(item) : null;
+                    chunk.add(new Row(firstIndex + chunk.size(), item, error));
+                }
+                save(owner, chunk).forEach(results);
+            }
+
+            @Override
+            public void failed(int index, String error) {
+                results.accept(ItemBatchImporter.failed(index, error));
+            }
+        });
+    }
+
+    private List<ItemBatchResultDto> save(User owner, List<Row> chunk) {
+        List<Row> rows = chunk.stream()
+                .filter(row -> row.error == null)
+                .collect(Collectors.toList());
+
+        if (!rows.isEmpty()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> saveRows(owner, rows));
+            } catch (DataAccessException ex) {
+                log.debug("Chunk of items of user with id='{}' failed, saving row by row: {}", owner.getId(),
+                        ex.getMessage());
+                rows.forEach(row -> saveRow(owner, row));
+            }
+
+            rows.stream()
+                    .filter(row -> row.saved != null)
+                    .forEach(row -> {
+                        itemSearchIndex.index(row.saved);
+                        itemDetailsCache.invalidate(row.saved.getId());
+                        if (row.item.getId() == null) {
+                            eventPublisher.publishEvent(ItemCreatedEvent.of(row.saved));
+                        }
+                    });
+        }
+
+        return chunk.stream()
+                .map(row -> ItemBatchResultDto.builder()
+                        .index(row.index)
+                        .id(row.saved == null ? row.item.getId() : row.saved.getId())
+                        .name(row.saved == null ? row.item.getName() : row.saved.getName())
+                        .error(row.error)
+                        .build())
+                .collect(Collectors.toList());
+    }
+
+    private void saveRow(User owner, Row row) {
+        row.saved = null;
+        row.error = null;
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> saveRows(owner, List.of(row)));
+        } catch (DataAccessException ex) {
+            log.warn("Item at index {} of user with id='{}' was not imported: {}", row.index, owner.getId(),
+                    ex.getMessage());
+            row.saved = null;
+            row.error = "Item could not be saved";
+        }
+    }
+
+    private void saveRows(User owner, List<Row> rows) {
+        Map<Long, ItemRequest> requests = findAllById(rows.stream()
+                .map(row -> row.item.getRequestId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()), itemRequestRepository::findAllById, ItemRequest::getId);
+
+        Map<Long, Item> existing = findAllById(rows.stream()
+                .map(row -> row.item.getId())
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet()), itemRepository::findAllById, Item::getId);
+
+        List<Item> items = new ArrayList<>();
+        for (Row row : rows) {
+            Item item = row.item.getId() == null ? create(owner, row.item) : existing.get(row.item.getId());
+
+            if (item == null) {
+                row.error = String.format("Item with id='%s' not found", row.item.getId());
+            } else if (!Objects.equals(item.getOwner().getId(), owner.getId())) {
+                row.error = String.format("Owner of item with id='%s' is another", row.item.getId());
+            } else {
+                if (row.item.getId() != null) {
+                    update(item, row.item);
+                }
+                if (row.item.getRequestId() != null) {
+                    item.setRequest(requests.get(row.item.getRequestId()));
+                }
+                row.saved = item;
+                items.add(item);
+            }
+        }
+
+        itemRepository.saveAll(items);
+        itemRepository.flush();
+    }
+
+    private static ItemBatchResultDto failed(int index, String error) {
+        return ItemBatchResultDto.builder().index(index).error(error).build();
+    }
+
+    private static Item create(User owner, ItemRequestDto request) {
+        Item item = ItemMapper.dtoToObject(request);
+        item.setOwner(owner);
+        return item;
+    }
+
+    private static void update(Item item, ItemRequestDto request) {
+        if (StringUtils.hasLength(request.getName())) {
+            item.setName(request.getName());
+        }
+
+        if (StringUtils.hasLength(request.getDescription())) {
+            item.setDescription(request.getDescription());
+        }
+
+        if (request.getAvailable() != null) {
+            item.setAvailable(request.getAvailable());
+        }
+    }
+
+    private static <T> Map<Long, T> findAllById(Set<Long> ids, Function<Set<Long>, List<T>> loader,
+                                                Function<T, Long> idGetter) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        return loader.apply(ids).stream().collect(Collectors.toMap(idGetter, Function.identity()));
+    }
+
+    private static class Row {
+        private final int index;
+        private final ItemRequestDto item;
+        private String error;
+        private Item saved;
+
+        Row(int index, ItemRequestDto item, String error) {
+            this.index = index;
+            this.item = item;
+            this.error = error;
+        }
+    }
+}
@@ -1,13 +1,23 @@
 package ru.practicum.shareit.item;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.comment.CommentRequestDto;
 import ru.practicum.shareit.item.comment.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.web.NdjsonResponseWriter;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -16,6 +26,7 @@ import java.util.List;
 public class ItemController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
     private final ItemService itemService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public List<ItemResponseDto> getAllItemsByUserId(@RequestHeader(name = USER_ID_HEADER) Long userId,
@@ -30,12 +41,30 @@ public class ItemController {
         return itemService.createItem(itemRequestDto, userId);
     }
 
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void createItems(@RequestHeader(name = USER_ID_HEADER) Long userId,
+                            InputStream body,
+                            HttpServletResponse response) throws IOException {
+        NdjsonResponseWriter<ItemBatchResultDto> results = new NdjsonResponseWriter<>(objectMapper, response);
+        itemService.createItems(userId, body, results);
+        results.finish();
+    }
+
     @GetMapping("/{itemId}")
     public ItemResponseDto getItem(@RequestHeader(name = USER_ID_HEADER) Long userId,
                                    @PathVariable(name = "itemId") Long itemId) {
         return itemService.getItemById(itemId, userId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getAvailability(@PathVariable(name = "itemId") Long itemId,
+                                               @RequestParam(name = "start")
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
+                                               @RequestParam(name = "end")
+                                               @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
+        return itemService.getAvailability(itemId, start, end);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemResponseDto updateItem(@RequestHeader(name = USER_ID_HEADER) Long userId,
                                       @PathVariable(name = "itemId") Long itemId,
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.item;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.user.User;
+
+import java.util.Optional;
+
+/**
+ * Published for every created item; {@code requestorId} is set when the item answers a request.
+ */
+@Getter
+@AllArgsConstructor
+public class ItemCreatedEvent {
+    private final ItemDto item;
+    private final Long requestorId;
+
+    public static ItemCreatedEvent of(Item item) {
+        Long requestorId = Optional.ofNullable(item.getRequest())
+                .map(ItemRequest::getRequestor)
+                .map(User::getId)
+                .orElse(null);
+        return new ItemCreatedEvent(ItemMapper.objectToDto(item), requestorId);
+    }
+}
@@ -0,0 +1,131 @@
+package ru.practicum.shareit.item;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.EqualsAndHashCode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.comment.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.persistence.TransactionCallbacks;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Cache of item details, with the owner view stored under its own key.
+ */
+@Component
+public class ItemDetailsCache {
+    public static final String CACHE_NAME = "items";
+
+    private final Cache<Key, Entry> cache;
+
+    public ItemDetailsCache(@Value("${shareit.item.cache.max-size:10000}") long maxSize,
+                            @Value("${shareit.item.cache.ttl:1m}") Duration ttl,
+                            ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        MeterRegistry registry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        Gauge.builder("shareit.item.cache.ttl", ttl, Duration::getSeconds)
+                .description("Time to live of cached item details")
+                .baseUnit("seconds")
+                .register(registry);
+    }
+
+    public Optional<ItemResponseDto> get(Long itemId, Long userId) {
+        Entry publicView = cache.getIfPresent(new Key(itemId, false));
+        if (publicView != null && !Objects.equals(publicView.ownerId, userId)) {
+            return Optional.of(copy(publicView.item));
+        }
+
+        Entry ownerView = cache.getIfPresent(new Key(itemId, true));
+        if (ownerView != null && Objects.equals(ownerView.ownerId, userId)) {
+            if (ownerView.validUntil == null || LocalDateTime.now().isBefore(ownerView.validUntil)) {
+                return Optional.of(copy(ownerView.item));
+            }
+            cache.invalidate(new Key(itemId, true));
+        }
+        return Optional.empty();
+    }
+
+    public void put(Long ownerId, boolean ownerView, ItemResponseDto item) {
+        LocalDateTime validUntil = ownerView && item.getNextBooking() != null ? item.getNextBooking().getStart() : null;
+        cache.put(new Key(item.getId(), ownerView), new Entry(ownerId, copy(item), validUntil));
+    }
+
+    public void invalidate(Long itemId) {
+        TransactionCallbacks.nowAndAfterCompletion(() -> evict(itemId));
+    }
+
+    public void invalidateAll() {
+        TransactionCallbacks.nowAndAfterCompletion(cache::invalidateAll);
+    }
+
+    private void evict(Long itemId) {
+        cache.invalidate(new Key(itemId, false));
+        cache.invalidate(new Key(itemId, true));
+    }
+
+    private static ItemResponseDto copy(ItemResponseDto item) {
+        return ItemResponseDto.builder()
+                .id(item.getId())
+                .name(item.getName())
+                .description(item.getDescription())
+                .available(item.getAvailable())
+                .lastBooking(copy(item.getLastBooking()))
+                .nextBooking(copy(item.getNextBooking()))
+                .comments(item.getComments() == null ? null : item.getComments().stream()
+                        .map(comment -> CommentResponseDto.builder()
+                                .id(comment.getId())
+                                .text(comment.getText())
+                                .authorName(comment.getAuthorName())
+                                .created(comment.getCreated())
+                                .build())
+                        .collect(Collectors.toList()))
+                .requestId(item.getRequestId())
+                .build();
+    }
+
+    private static BookingDto copy(BookingDto booking) {
+        if (booking == null) {
+            return null;
+        }
+        return BookingDto.builder()
+                .id(booking.getId())
+                .start(booking.getStart())
+                .end(booking.getEnd())
+                .bookerId(booking.getBookerId())
+                .itemId(booking.getItemId())
+                .build();
+    }
+
+    @EqualsAndHashCode
+    @RequiredArgsConstructor
+    private static class Key {
+        private final Long itemId;
+        private final boolean ownerView;
+    }
+
+    @RequiredArgsConstructor
+    private static class Entry {
+        private final Long ownerId;
+        private final ItemResponseDto item;
+        private final LocalDateTime validUntil;
+    }
+}
@@ -43,4 +43,10 @@ public class ItemMapper {
                 .map(ItemMapper::objectToItemResponseDto)
                 .collect(Collectors.toList());
     }
+
+    public static List<ItemDto> objectToDto(List<Item> items) {
+        return items.stream()
+                .map(ItemMapper::objectToDto)
+                .collect(Collectors.toList());
+    }
 }
@@ -12,15 +12,24 @@ import java.util.Set;
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
     @Query(value = "select i from Item i " +
-            "where upper(i.name) like upper(concat('%', ?1, '%')) " +
-            "OR upper(i.description) like upper(concat('%', ?1, '%')) AND i.available=true")
+            "where (upper(i.name) like upper(concat('%', ?1, '%')) " +
+            "OR upper(i.description) like upper(concat('%', ?1, '%'))) AND i.available=true " +
+            "order by case when upper(i.name) = upper(?1) then 0 " +
+            "when upper(i.name) like upper(concat(?1, '%')) then 1 " +
+            "when upper(i.name) like upper(concat('%', ?1, '%')) then 2 " +
+            "else 3 end, i.id")
     List<Item> findByText(String text, Pageable pageable);
 
     List<Item> findAllByOwnerId(Long id, Pageable pageable);
 
+    @Query(value = "select i from Item i " +
+            "join i.request r " +
+            "where r.id in ?1 " +
+            "order by r.created desc, r.id desc, i.id")
     List<Item> findAllByRequestIdIn(Set<Long> ids);
 
-    Item findByRequestId(Long requestId);
+    List<Item> findByIdGreaterThanOrderById(Long id, Pageable pageable);
 
-    List<Item> findAllByOwnerId(Long id);
+    @Query("select i.id from Item i where i.owner.id = ?1")
+    List<Long> findIdsByOwnerId(Long ownerId);
 }
@@ -0,0 +1,278 @@
+package ru.practicum.shareit.item;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.persistence.TransactionCallbacks;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory trigram index over names and descriptions of available items.
+ */
+@Slf4j
+@Component
+public class ItemSearchIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final int LOAD_BATCH_SIZE = 1_000;
+
+    private final ItemRepository itemRepository;
+    private final boolean enabled;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public ItemSearchIndex(ItemRepository itemRepository,
+                           @Value("${shareit.item.search-index.enabled:false}") boolean enabled) {
+        this.itemRepository = itemRepository;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+
+            long lastId = 0;
+            List<Item> items = itemRepository.findByIdGreaterThanOrderById(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            while (!items.isEmpty()) {
+                items.forEach(item -> add(toDocument(item)));
+                lastId = items.get(items.size() - 1).getId();
+                items = itemRepository.findByIdGreaterThanOrderById(lastId, PageRequest.of(0, LOAD_BATCH_SIZE));
+            }
+            postings.values().forEach(PostingList::trim);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Item search index built: {} items, {} grams", documents.size(), postings.size());
+    }
+
+    public void index(Item item) {
+        if (!enabled) {
+            return;
+        }
+
+        Long itemId = item.getId();
+        Document document = toDocument(item);
+
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                remove(itemId);
+                add(document);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Must be called before the owner is deleted.
+     */
+    public void removeOwner(Long ownerId) {
+        if (!enabled) {
+            return;
+        }
+
+        List<Long> itemIds = itemRepository.findIdsByOwnerId(ownerId);
+
+        TransactionCallbacks.afterCommit(() -> {
+            lock.writeLock().lock();
+            try {
+                itemIds.forEach(this::remove);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Ranks matches the same way as {@link ItemRepository#findByText}.
+     */
+    public List<Long> search(String text, Pageable pageable) {
+        String query = normalize(text);
+
+        lock.readLock().lock();
+        try {
+            return candidates(query).stream()
+                    .map(documents::get)
+                    .filter(document -> document.matches(query))
+                    .sorted(Comparator.comparingInt((Document document) -> document.rank(query))
+                            .thenComparingLong(document -> document.id))
+                    .skip(pageable.getOffset())
+                    .limit(pageable.getPageSize())
+                    .map(document -> document.id)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Collection<Long> candidates(String query) {
+        if (query.length() < GRAM_LENGTH) {
+            return documents.keySet();
+        }
+
+        PostingList smallest = null;
+        for (String gram : grams(query)) {
+            PostingList postingList = postings.get(gram);
+            if (postingList == null) {
+                return List.of();
+            }
+            if (smallest == null || postingList.size() < smallest.size()) {
+                smallest = postingList;
+            }
+        }
+        return smallest.toList();
+    }
+
+    private void add(Document document) {
+        if (document == null) {
+            return;
+        }
+
+        documents.put(document.id, document);
+        document.allGrams().forEach(gram -> postings.computeIfAbsent(gram, key -> new PostingList()).add(document.id));
+    }
+
+    private void remove(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+
+        document.allGrams().forEach(gram -> {
+            PostingList postingList = postings.get(gram);
+            postingList.remove(id);
+            if (postingList.size() == 0) {
+                postings.remove(gram);
+            }
+        });
+    }
+
+    private static Document toDocument(Item item) {
+        if (!Boolean.TRUE.equals(item.getAvailable())) {
+            return null;
+        }
+
+        return new Document(item.getId(), normalize(item.getName()), normalize(item.getDescription()));
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.toUpperCase();
+    }
+
+    private static Set<String> grams(String text) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            grams.add(text.substring(i, i + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static class Document {
+        private final long id;
+        private final String name;
+        private final String description;
+
+        Document(long id, String name, String description) {
+            this.id = id;
+            this.name = name;
+            this.description = description;
+        }
+
+        Set<String> allGrams() {
+            Set<String> grams = grams(name);
+            grams.addAll(grams(description));
+            return grams;
+        }
+
+        boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        int rank(String query) {
+            if (name.equals(query)) {
+                return 0;
+            }
+            if (name.startsWith(query)) {
+                return 1;
+            }
+            return name.contains(query) ? 2 : 3;
+        }
+    }
+
+    private static class PostingList {
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void add(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            position = -position - 1;
+
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, position, ids, position + 1, size - position);
+            ids[position] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+
+        void trim() {
+            if (ids.length > size) {
+                ids = Arrays.copyOf(ids, Math.max(size, 1));
+            }
+        }
+
+        List<Long> toList() {
+            List<Long> result = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                result.add(ids[i]);
+            }
+            return result;
+        }
+    }
+}
@@ -2,19 +2,28 @@ package ru.practicum.shareit.item;
 
 import ru.practicum.shareit.item.comment.CommentRequestDto;
 import ru.practicum.shareit.item.comment.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 
 public interface ItemService {
     ItemResponseDto createItem(ItemRequestDto itemRequestDto, Long userId);
 
+    void createItems(Long userId, InputStream body, Consumer<ItemBatchResultDto> results);
+
     ItemResponseDto getItemById(Long id, Long userId);
 
     ItemResponseDto updateItemById(ItemRequestDto itemRequestDto, Long id, Long userId);
 
+    ItemAvailabilityDto getAvailability(Long id, LocalDateTime start, LocalDateTime end);
+
     List<ItemResponseDto> getAllItemsByUserId(Long userId, Integer from, Integer size);
 
     List<ItemResponseDto> searchItemByText(String text, Integer from, Integer size);
@@ -23,5 +32,4 @@ public interface ItemService {
 
     List<Item> getAllByRequestIds(Set<Long> collect);
 
-    Item getItemByRequestId(Long requestId);
 }
@@ -1,29 +1,39 @@
 package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingCalendar;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.Status;
+import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.exception.AccessException;
 import ru.practicum.shareit.exception.NoCorrectRequestException;
 import ru.practicum.shareit.exception.NoFoundObjectException;
 import ru.practicum.shareit.exception.NoValidArgumentException;
 import ru.practicum.shareit.item.comment.*;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
+import java.io.InputStream;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
@@ -34,6 +44,11 @@ public class ItemServiceImpl implements ItemService {
     private final CommentService commentService;
     private final BookingRepository bookingRepository;
     private final ItemRequestRepository itemRequestRepository;
+    private final ItemSearchIndex itemSearchIndex;
+    private final BookingCalendar bookingCalendar;
+    private final ItemDetailsCache itemDetailsCache;
+    private final ItemBatchImporter itemBatchImporter;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     @Transactional
@@ -49,17 +64,32 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item savedItem = itemRepository.save(item);
+        itemSearchIndex.index(savedItem);
+        eventPublisher.publishEvent(ItemCreatedEvent.of(savedItem));
+
         return ItemMapper.objectToItemResponseDto(savedItem);
     }
 
+    @Override
+    public void createItems(Long userId, InputStream body, Consumer<ItemBatchResultDto> results) {
+        User owner = userService.findUserById(userId);
+        itemBatchImporter.importItems(owner, body, results);
+    }
+
     @Override
     public ItemResponseDto getItemById(Long itemId, Long userId) {
+        Optional<ItemResponseDto> cached = itemDetailsCache.get(itemId, userId);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
         Item item = itemRepository.findById(itemId)
                 .orElseThrow(() -> new NoFoundObjectException(String.format("Item with id='%s' not found", itemId)));
 
         ItemResponseDto itemResponseDto = ItemMapper.objectToItemResponseDto(item);
 
-        if (Objects.equals(userId, item.getOwner().getId())) {
+        boolean ownerView = Objects.equals(userId, item.getOwner().getId());
+        if (ownerView) {
             itemResponseDto.setNextBooking(
                     (bookingRepository
                             .findNextBooking(itemId, userId, Status.APPROVED, LocalDateTime.now(), PageRequest.of(0, 1)))
@@ -74,6 +104,7 @@ public class ItemServiceImpl implements ItemService {
         List<CommentResponseDto> comments = commentService.getAllCommentsByItemId(itemId);
         itemResponseDto.setComments(comments);
 
+        itemDetailsCache.put(item.getOwner().getId(), ownerView, itemResponseDto);
         return itemResponseDto;
     }
 
@@ -100,9 +131,34 @@ public class ItemServiceImpl implements ItemService {
         }
 
         Item savedItem = itemRepository.save(item);
+        itemSearchIndex.index(savedItem);
+        itemDetailsCache.invalidate(itemId);
+
         return ItemMapper.objectToItemResponseDto(savedItem);
     }
 
+    @Override
+    public ItemAvailabilityDto getAvailability(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!start.isBefore(end)) {
+            throw new NoValidArgumentException("Start must be before end");
+        }
+
+        Item item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NoFoundObjectException(String.format("Item with id='%s' not found", itemId)));
+
+        if (!item.getAvailable()) {
+            return ItemAvailabilityDto.builder().itemId(itemId).start(start).end(end).free(false).build();
+        }
+
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .start(start)
+                .end(end)
+                .free(bookingCalendar.isFree(itemId, start, end))
+                .nextFreeStart(bookingCalendar.nextFreeSlot(itemId, start, Duration.between(start, end)))
+                .build();
+    }
+
     @Override
     public List<ItemResponseDto> getAllItemsByUserId(Long userId, Integer from, Integer size) {
         userService.checkExistUserById(userId);
@@ -112,22 +168,38 @@ public class ItemServiceImpl implements ItemService {
         List<Item> items = itemRepository.findAllByOwnerId(userId, pageable);
         List<ItemResponseDto> itemResponseDtos = ItemMapper.objectToItemResponseDto(items);
 
-        return itemResponseDtos
+        if (itemResponseDtos.isEmpty()) {
+            return itemResponseDtos;
+        }
+
+        Set<Long> itemIds = itemResponseDtos.stream()
+                .map(ItemResponseDto::getId)
+                .collect(Collectors.toSet());
+
+        LocalDateTime dateTimeNow = LocalDateTime.now();
+
+        Map<Long, List<BookingDto>> bookingsByItemId = bookingRepository
+                .findLastAndNextBookings(itemIds, Status.APPROVED, dateTimeNow)
                 .stream()
-                .peek(itemsDto -> {
-                    itemsDto.setNextBooking(
-                            (bookingRepository
-                                    .findNextBooking(itemsDto.getId(), userId, Status.APPROVED, LocalDateTime.now(),
-                                            PageRequest.of(0, 1)))
-                                    .get().findFirst().orElse(null));
-
-                    itemsDto.setLastBooking(
-                            (bookingRepository
-                                    .findLastBooking(itemsDto.getId(), userId, Status.APPROVED, LocalDateTime.now(),
-                                            PageRequest.of(0, 1)))
-                                    .get().findFirst().orElse(null));
-                })
-                .collect(Collectors.toList());
+                .collect(Collectors.groupingBy(BookingDto::getItemId));
+
+        setComments(itemResponseDtos, itemIds);
+
+        itemResponseDtos.forEach(itemDto -> {
+            List<BookingDto> bookings = bookingsByItemId.getOrDefault(itemDto.getId(), List.of());
+
+            bookings.stream()
+                    .filter(booking -> booking.getStart().isBefore(dateTimeNow))
+                    .reduce((first, second) -> second)
+                    .ifPresent(itemDto::setLastBooking);
+
+            bookings.stream()
+                    .filter(booking -> booking.getStart().isAfter(dateTimeNow))
+                    .findFirst()
+                    .ifPresent(itemDto::setNextBooking);
+        });
+
+        return itemResponseDtos;
     }
 
     @Override
@@ -139,8 +211,16 @@ public class ItemServiceImpl implements ItemService {
 
         Pageable pageable = getPageable(from, size);
 
-        List<Item> items = itemRepository.findByText(text, pageable);
-        return ItemMapper.objectToItemResponseDto(items);
+        List<Item> items = itemSearchIndex.isEnabled()
+                ? findAllByIdsInOrder(itemSearchIndex.search(text, pageable))
+                : itemRepository.findByText(text, pageable);
+        List<ItemResponseDto> itemResponseDtos = ItemMapper.objectToItemResponseDto(items);
+
+        setComments(itemResponseDtos, itemResponseDtos.stream()
+                .map(ItemResponseDto::getId)
+                .collect(Collectors.toSet()));
+
+        return itemResponseDtos;
     }
 
     @Override
@@ -165,6 +245,7 @@ public class ItemServiceImpl implements ItemService {
         comment.setAuthor(author);
         comment.setItem(item);
         Comment savedComment = commentService.createComment(comment);
+        itemDetailsCache.invalidate(itemId);
 
         return CommentMapper.dtoToObject(savedComment);
     }
@@ -174,9 +255,22 @@ public class ItemServiceImpl implements ItemService {
         return itemRepository.findAllByRequestIdIn(ids);
     }
 
-    @Override
-    public Item getItemByRequestId(Long requestId) {
-        return itemRepository.findByRequestId(requestId);
+    private List<Item> findAllByIdsInOrder(List<Long> ids) {
+        Map<Long, Item> itemsById = itemRepository.findAllById(ids)
+                .stream()
+                .collect(Collectors.toMap(Item::getId, item -> item));
+
+        return ids.stream()
+                .map(itemsById::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    private void setComments(List<ItemResponseDto> itemResponseDtos, Set<Long> itemIds) {
+        Map<Long, List<CommentResponseDto>> commentsByItemId = commentService.getAllCommentsByItemIds(itemIds);
+
+        itemResponseDtos.forEach(itemDto ->
+                itemDto.setComments(commentsByItemId.getOrDefault(itemDto.getId(), List.of())));
     }
 
     private Pageable getPageable(Integer from, Integer size) {
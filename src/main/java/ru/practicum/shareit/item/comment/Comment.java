@@ -1,7 +1,11 @@
 package ru.practicum.shareit.item.comment;
 
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.persistence.PooledSequenceGenerator;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
@@ -14,18 +18,21 @@ import java.time.LocalDateTime;
 @Builder
 @Entity
 @Table(name = "comments")
+@NamedEntityGraph(name = "Comment.author", attributeNodes = @NamedAttributeNode("author"))
 public class Comment {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "comments_seq")
+    @GenericGenerator(name = "comments_seq", strategy = PooledSequenceGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "comments_seq"))
     private Long id;
 
     private String text;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id", referencedColumnName = "id")
     private Item item;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "author_id", referencedColumnName = "id")
     private User author;
 
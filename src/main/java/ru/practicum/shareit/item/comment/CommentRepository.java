@@ -1,9 +1,19 @@
 package ru.practicum.shareit.item.comment;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
+    @EntityGraph("Comment.author")
     List<Comment> findAllByItemId(Long itemId);
+
+    @Query(value = "select c from Comment as c " +
+            "join fetch c.author " +
+            "where c.item.id in ?1 " +
+            "order by c.created")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
 }
@@ -1,9 +1,13 @@
 package ru.practicum.shareit.item.comment;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface CommentService {
     Comment createComment(Comment comment);
 
     List<CommentResponseDto> getAllCommentsByItemId(Long id);
+
+    Map<Long, List<CommentResponseDto>> getAllCommentsByItemIds(Collection<Long> ids);
 }
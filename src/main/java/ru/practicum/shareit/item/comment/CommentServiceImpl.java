@@ -4,7 +4,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -23,4 +26,16 @@ public class CommentServiceImpl implements CommentService {
 
         return CommentMapper.objectsToDto(comments);
     }
+
+    @Override
+    public Map<Long, List<CommentResponseDto>> getAllCommentsByItemIds(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        return commentRepository.findAllByItemIdIn(ids)
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId(),
+                        Collectors.mapping(CommentMapper::dtoToObject, Collectors.toList())));
+    }
 }
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Records how many SQL statements each HTTP request issued and warns when a request exceeds the threshold.
+ */
+@Slf4j
+@Component
+public class SqlStatementCountFilter extends OncePerRequestFilter {
+    public static final String METRIC_NAME = "shareit.http.sql.statements";
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public SqlStatementCountFilter(ObjectProvider<MeterRegistry> meterRegistry,
+                                   @Value("${shareit.sql.statement-warn-threshold:10}") int warnThreshold) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlStatementCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int count = SqlStatementCounter.get();
+            SqlStatementCounter.stop();
+            record(request, count);
+        }
+    }
+
+    private void record(HttpServletRequest request, int count) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? "UNKNOWN" : pattern.toString();
+
+        DistributionSummary.builder(METRIC_NAME)
+                .description("SQL statements issued per HTTP request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(count);
+
+        if (count > warnThreshold) {
+            log.warn("{} {} issued {} SQL statements (threshold {}), possible N+1",
+                    request.getMethod(), request.getRequestURI(), count, warnThreshold);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.persistence;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Sequence generator whose allocation size and optimizer come from Hibernate settings.
+ */
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    public static final String STRATEGY = "ru.practicum.shareit.persistence.PooledSequenceGenerator";
+    public static final String ALLOCATION_SIZE_SETTING = "shareit.id.allocation_size";
+    public static final String OPTIMIZER_SETTING = "shareit.id.optimizer";
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        Map<?, ?> settings = serviceRegistry.getService(ConfigurationService.class).getSettings();
+
+        Object allocationSize = settings.get(ALLOCATION_SIZE_SETTING);
+        if (allocationSize != null && Integer.parseInt(allocationSize.toString()) > 1) {
+            Object optimizer = settings.get(OPTIMIZER_SETTING);
+            params.setProperty(INCREMENT_PARAM, allocationSize.toString());
+            params.setProperty(OPT_PARAM, optimizer == null
+                    ? StandardOptimizerDescriptor.POOLED.getExternalName()
+                    : optimizer.toString());
+        }
+
+        super.configure(type, params, serviceRegistry);
+    }
+}
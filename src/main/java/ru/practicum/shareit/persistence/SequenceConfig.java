@@ -0,0 +1,29 @@
+package ru.practicum.shareit.persistence;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SequenceConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer sequenceAllocationCustomizer(
+            @Value("${shareit.id.allocation-size:50}") int allocationSize,
+            @Value("${shareit.id.optimizer:pooled}") String optimizer) {
+        return properties -> {
+            properties.put(PooledSequenceGenerator.ALLOCATION_SIZE_SETTING, allocationSize);
+            properties.put(PooledSequenceGenerator.OPTIMIZER_SETTING, optimizer);
+        };
+    }
+
+    /**
+     * Hibernate validates the sequence increments while the entity manager factory starts.
+     */
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor sequenceIncrementDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor(SequenceIncrementInitializer.class);
+    }
+}
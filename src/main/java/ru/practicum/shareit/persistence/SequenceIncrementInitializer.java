@@ -0,0 +1,27 @@
+package ru.practicum.shareit.persistence;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Aligns the increment of every id sequence with the configured allocation size.
+ */
+@Slf4j
+@Component
+@DependsOnDatabaseInitialization
+public class SequenceIncrementInitializer {
+    public static final List<String> SEQUENCES = List.of("users_seq", "requests_seq", "items_seq", "bookings_seq",
+            "comments_seq");
+
+    public SequenceIncrementInitializer(JdbcTemplate jdbcTemplate,
+                                        @Value("${shareit.id.allocation-size:50}") int allocationSize) {
+        SEQUENCES.forEach(sequence -> jdbcTemplate.execute(String.format("ALTER SEQUENCE %s INCREMENT BY %d",
+                sequence, allocationSize)));
+        log.info("Id sequences use allocation size {}", allocationSize);
+    }
+}
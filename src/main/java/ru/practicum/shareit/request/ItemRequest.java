@@ -1,10 +1,16 @@
 package ru.practicum.shareit.request;
 
 import lombok.*;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.persistence.PooledSequenceGenerator;
 import ru.practicum.shareit.user.User;
 
 import javax.persistence.*;
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter
 @Setter
@@ -15,15 +21,21 @@ import java.time.LocalDateTime;
 @Table(name = "requests")
 public class ItemRequest {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "requests_seq")
+    @GenericGenerator(name = "requests_seq", strategy = PooledSequenceGenerator.STRATEGY,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "requests_seq"))
     private Long id;
 
     private String description;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "requestor_id", referencedColumnName = "id")
     private User requestor;
 
     @Column(name = "date_created")
     private LocalDateTime created;
+
+    @OneToMany(mappedBy = "request")
+    @OrderBy("id")
+    private List<Item> items;
 }
@@ -1,8 +1,12 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.dto.RequestPageDto;
 
 import javax.validation.Valid;
 import javax.validation.constraints.Positive;
@@ -14,6 +18,7 @@ import java.util.List;
 @RequiredArgsConstructor
 public class ItemRequestController {
     private static final String USER_ID_HEADER = "X-Sharer-User-Id";
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
     private final ItemRequestService itemRequestService;
 
     @PostMapping
@@ -23,8 +28,16 @@ public class ItemRequestController {
     }
 
     @GetMapping
-    public List<RequestDto> getOwnerRequestsByUser(@RequestHeader(name = USER_ID_HEADER) Long userId) {
-        return itemRequestService.getOwnerRequestByUserId(userId);
+    public ResponseEntity<List<RequestDto>> getOwnerRequestsByUser(
+            @RequestHeader(name = USER_ID_HEADER) Long userId,
+            @RequestParam(name = "cursor", required = false) String cursor,
+            @RequestParam(name = "size", defaultValue = "10") Integer size) {
+        return toResponse(itemRequestService.getOwnerRequestByUserId(userId, cursor, size));
+    }
+
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRequests(@RequestHeader(name = USER_ID_HEADER) Long userId) {
+        return itemRequestService.subscribe(userId);
     }
 
     @GetMapping("/{requestId}")
@@ -34,12 +47,22 @@ public class ItemRequestController {
     }
 
     @GetMapping("/all")
-    public List<RequestDto> getAllRequestOtherUsers(@RequestHeader(name = USER_ID_HEADER) Long userId,
-                                                    @PositiveOrZero @RequestParam(name = "from",
-                                                            defaultValue = "0") Integer from,
-                                                    @Positive @RequestParam(name = "size",
-                                                            defaultValue = "10") Integer size) {
-        return itemRequestService.getRequestsOtherUsers(userId, from, size);
+    public ResponseEntity<List<RequestDto>> getAllRequestOtherUsers(
+            @RequestHeader(name = USER_ID_HEADER) Long userId,
+            @PositiveOrZero @RequestParam(name = "from", defaultValue = "0") Integer from,
+            @Positive @RequestParam(name = "size", defaultValue = "10") Integer size,
+            @RequestParam(name = "cursor", required = false) String cursor) {
+        if (cursor == null) {
+            return ResponseEntity.ok(itemRequestService.getRequestsOtherUsers(userId, from, size));
+        }
+        return toResponse(itemRequestService.getRequestPageOtherUsers(userId, cursor, size));
     }
 
+    private ResponseEntity<List<RequestDto>> toResponse(RequestPageDto page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getRequests());
+    }
 }
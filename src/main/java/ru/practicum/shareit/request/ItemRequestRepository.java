@@ -1,15 +1,34 @@
 package ru.practicum.shareit.request;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
-    List<ItemRequest> findAllByRequestorId(Long userId);
+    @Query("SELECT ir FROM ItemRequest ir WHERE ir.requestor.id = ?1 " +
+            "AND (ir.created < ?2 OR (ir.created = ?2 AND ir.id < ?3)) " +
+            "ORDER BY ir.created DESC, ir.id DESC")
+    List<ItemRequest> findPageByRequestorId(Long userId, LocalDateTime cursorCreated, Long cursorId,
+                                            Pageable pageable);
+
+    @Query("SELECT ir FROM ItemRequest ir WHERE ir.requestor.id <> ?1 " +
+            "AND (ir.created < ?2 OR (ir.created = ?2 AND ir.id < ?3)) " +
+            "ORDER BY ir.created DESC, ir.id DESC")
+    List<ItemRequest> findPageByOtherRequestors(Long userId, LocalDateTime cursorCreated, Long cursorId,
+                                                Pageable pageable);
+
+    @Query("SELECT ir FROM ItemRequest ir ORDER BY ir.created DESC, ir.id DESC")
+    List<ItemRequest> findLatest(Pageable pageable);
+
+    @EntityGraph(attributePaths = "items")
+    Optional<ItemRequest> findWithItemsById(Long requestId);
 
     @Query("SELECT ir FROM ItemRequest ir WHERE ir.requestor.id <> ?1")
     List<ItemRequest> findAllByOwnerId(Long userId, Pageable pageable);
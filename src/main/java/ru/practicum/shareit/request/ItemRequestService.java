@@ -1,6 +1,8 @@
 package ru.practicum.shareit.request;
 
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.dto.RequestPageDto;
 
 import java.util.List;
 
@@ -8,9 +10,13 @@ public interface ItemRequestService {
 
     RequestDto createRequest(RequestDto request, Long userId);
 
-    List<RequestDto> getOwnerRequestByUserId(Long userId);
+    RequestPageDto getOwnerRequestByUserId(Long userId, String cursor, Integer size);
 
     RequestDto getRequestById(Long userId, Long requestId);
 
     List<RequestDto> getRequestsOtherUsers(Long userId, Integer from, Integer size);
+
+    RequestPageDto getRequestPageOtherUsers(Long userId, String cursor, Integer size);
+
+    SseEmitter subscribe(Long userId);
 }
@@ -1,23 +1,27 @@
 package ru.practicum.shareit.request;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.exception.NoFoundObjectException;
 import ru.practicum.shareit.exception.NoValidArgumentException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemMapper;
 import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.dto.RequestPageDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.web.KeysetCursor;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,6 +30,9 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     private final ItemRequestRepository itemRequestRepository;
     private final UserService userService;
     private final ItemService itemService;
+    private final RequestFeed requestFeed;
+    private final RequestStream requestStream;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public RequestDto createRequest(RequestDto request, Long userId) {
@@ -33,44 +40,48 @@ public class ItemRequestServiceImpl implements ItemRequestService {
 
         ItemRequest itemRequest = ItemRequestMapper.dtoToObject(request);
         itemRequest.setRequestor(user);
-        itemRequest.setCreated(LocalDateTime.now());
+        itemRequest.setCreated(LocalDateTime.now().truncatedTo(ChronoUnit.MICROS));
 
-        return ItemRequestMapper.objectToDto(itemRequestRepository.save(itemRequest));
+        ItemRequest savedRequest = itemRequestRepository.save(itemRequest);
+        requestFeed.add(savedRequest);
+
+        RequestDto requestDto = ItemRequestMapper.objectToDto(savedRequest);
+        eventPublisher.publishEvent(new RequestCreatedEvent(requestDto));
+
+        return requestDto;
     }
 
     @Override
-    public List<RequestDto> getOwnerRequestByUserId(Long userId) {
+    public SseEmitter subscribe(Long userId) {
         userService.checkExistUserById(userId);
+        return requestStream.subscribe(userId);
+    }
 
-        List<ItemRequest> requests = itemRequestRepository.findAllByRequestorId(userId);
+    @Override
+    public RequestPageDto getOwnerRequestByUserId(Long userId, String cursor, Integer size) {
+        userService.checkExistUserById(userId);
 
-        List<Item> items = itemService.getAllByRequestIds(requests
-                .stream()
-                .map(ItemRequest::getId)
-                .collect(Collectors.toSet()));
+        if (size <= 0) {
+            throw new NoValidArgumentException("The request parameter size is invalid and cannot be negative");
+        }
 
-        Map<Long, RequestDto> requestDtos = ItemRequestMapper.objectToDto(requests).stream()
-                .collect(Collectors.toMap(RequestDto::getId, request -> request));
+        KeysetCursor position = KeysetCursor.decode(cursor);
 
-        items.forEach(item -> {
-            Long id = item.getRequest().getId();
-            requestDtos.get(id).getItems().add(ItemMapper.objectToDto(item));
-        });
+        List<ItemRequest> requests = itemRequestRepository.findPageByRequestorId(userId,
+                position.getTimestamp(), position.getId(), PageRequest.of(0, size + 1));
 
-        return new ArrayList<>(requestDtos.values());
+        return toPage(requests, size);
     }
 
     @Override
     public RequestDto getRequestById(Long userId, Long requestId) {
         userService.checkExistUserById(userId);
 
-        ItemRequest itemRequest = itemRequestRepository.findById(requestId).orElseThrow(
+        ItemRequest itemRequest = itemRequestRepository.findWithItemsById(requestId).orElseThrow(
                 () -> new NoFoundObjectException(String.format("ItemRequest with id='%s' not found", requestId)));
 
-        Item item = itemService.getItemByRequestId(requestId);
-
         RequestDto requestDto = ItemRequestMapper.objectToDto(itemRequest);
-        requestDto.setItems(List.of(ItemMapper.objectToDto(item)));
+        requestDto.setItems(ItemMapper.objectToDto(itemRequest.getItems()));
 
         return requestDto;
     }
@@ -84,24 +95,64 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         }
 
         int page = from == 0 ? 0 : (from / size);
-        Pageable pageable = PageRequest.of(page, size, Sort.by("created").descending());
+        Pageable pageable = PageRequest.of(page, size, Sort.by("created").descending()
+                .and(Sort.by("id").descending()));
+
+        List<ItemRequest> requests = requestFeed.find(userId, page * size, size)
+                .orElseGet(() -> itemRequestRepository.findAllByOwnerId(userId, pageable));
+
+        return withItems(requests);
+    }
+
+    @Override
+    public RequestPageDto getRequestPageOtherUsers(Long userId, String cursor, Integer size) {
+        userService.checkExistUserById(userId);
+
+        if (size <= 0) {
+            throw new NoValidArgumentException("The request parameter size is invalid and cannot be negative");
+        }
+
+        KeysetCursor position = KeysetCursor.decode(cursor);
+
+        List<ItemRequest> requests = requestFeed.findAfter(userId, position, size + 1)
+                .orElseGet(() -> itemRequestRepository.findPageByOtherRequestors(userId,
+                        position.getTimestamp(), position.getId(), PageRequest.of(0, size + 1)));
+
+        return toPage(requests, size);
+    }
 
-        List<ItemRequest> requests = itemRequestRepository.findAllByOwnerId(userId, pageable);
+    private RequestPageDto toPage(List<ItemRequest> requests, Integer size) {
+        List<RequestDto> requestDtos = withItems(requests.size() > size ? requests.subList(0, size) : requests);
 
-        Map<Long, RequestDto> requestDtos = ItemRequestMapper.objectToDto(requests).stream()
-                .collect(Collectors.toMap(RequestDto::getId, requestDto -> requestDto));
+        if (requests.size() <= size) {
+            return new RequestPageDto(requestDtos, null);
+        }
+        RequestDto last = requestDtos.get(size - 1);
+        return new RequestPageDto(requestDtos, new KeysetCursor(last.getCreated(), last.getId()).encode());
+    }
 
-        List<Item> items = itemService.getAllByRequestIds(requests
-                .stream()
+    private List<RequestDto> withItems(List<ItemRequest> requests) {
+        List<RequestDto> requestDtos = ItemRequestMapper.objectToDto(requests);
+        if (requestDtos.isEmpty()) {
+            return requestDtos;
+        }
+
+        List<Item> items = itemService.getAllByRequestIds(requests.stream()
                 .map(ItemRequest::getId)
                 .collect(Collectors.toSet()));
 
-        items.forEach(item -> {
-            Long id = item.getRequest().getId();
-            requestDtos.get(id).getItems().add(ItemMapper.objectToDto(item));
-        });
+        int position = 0;
+        for (Item item : items) {
+            Long requestId = item.getRequest().getId();
+            while (position < requestDtos.size() && !Objects.equals(requestDtos.get(position).getId(), requestId)) {
+                position++;
+            }
+            if (position == requestDtos.size()) {
+                break;
+            }
+            requestDtos.get(position).getItems().add(ItemMapper.objectToDto(item));
+        }
 
-        return new ArrayList<>(requestDtos.values());
+        return requestDtos;
     }
-
 }
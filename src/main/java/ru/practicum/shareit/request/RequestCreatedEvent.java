@@ -0,0 +1,11 @@
+package ru.practicum.shareit.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import ru.practicum.shareit.request.dto.RequestDto;
+
+@Getter
+@AllArgsConstructor
+public class RequestCreatedEvent {
+    private final RequestDto request;
+}
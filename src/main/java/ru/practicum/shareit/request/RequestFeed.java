@@ -0,0 +1,174 @@
+package ru.practicum.shareit.request;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.persistence.TransactionCallbacks;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.web.KeysetCursor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Newest-first buffer of the latest requests of all users, updated after commit.
+ */
+@Slf4j
+@Component
+public class RequestFeed {
+    private static final Comparator<ItemRequest> NEWEST_FIRST = Comparator
+            .comparing(ItemRequest::getCreated, Comparator.reverseOrder())
+            .thenComparing(ItemRequest::getId, Comparator.reverseOrder());
+
+    private final ItemRequestRepository itemRequestRepository;
+    private final int capacity;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public RequestFeed(ItemRequestRepository itemRequestRepository,
+                       @Value("${shareit.request.feed.capacity:1000}") int capacity) {
+        this.itemRequestRepository = itemRequestRepository;
+        this.capacity = capacity;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        List<ItemRequest> latest = itemRequestRepository.findLatest(PageRequest.of(0, capacity + 1));
+
+        boolean complete = latest.size() <= capacity;
+        ItemRequest[] requests = latest.stream()
+                .limit(capacity)
+                .map(RequestFeed::copy)
+                .toArray(ItemRequest[]::new);
+
+        snapshot = new Snapshot(requests, complete);
+        log.info("Request feed built: {} requests, complete={}", requests.length, complete);
+    }
+
+    public void add(ItemRequest request) {
+        ItemRequest entry = copy(request);
+        TransactionCallbacks.afterCommit(() -> insert(entry));
+    }
+
+    public void removeRequestor(Long userId) {
+        TransactionCallbacks.afterCommit(() -> {
+            synchronized (this) {
+                Snapshot current = snapshot;
+                snapshot = new Snapshot(Arrays.stream(current.requests)
+                        .filter(request -> !Objects.equals(request.getRequestor().getId(), userId))
+                        .toArray(ItemRequest[]::new), current.complete);
+            }
+        });
+    }
+
+    /**
+     * Returns empty if the buffer cannot answer the page.
+     */
+    public Optional<List<ItemRequest>> find(Long userId, int offset, int size) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            // the feed cannot see writes of the caller's own transaction, read the database instead
+            return Optional.empty();
+        }
+
+        Snapshot current = snapshot;
+        List<ItemRequest> page = new ArrayList<>(size);
+        int skipped = 0;
+
+        for (ItemRequest request : current.requests) {
+            if (Objects.equals(request.getRequestor().getId(), userId)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            page.add(request);
+            if (page.size() == size) {
+                return Optional.of(page);
+            }
+        }
+        return current.complete ? Optional.of(page) : Optional.empty();
+    }
+
+    /**
+     * Returns empty if the buffer cannot answer the page.
+     */
+    public Optional<List<ItemRequest>> findAfter(Long userId, KeysetCursor cursor, int limit) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Optional.empty();
+        }
+
+        Snapshot current = snapshot;
+        List<ItemRequest> page = new ArrayList<>(limit);
+
+        for (ItemRequest request : current.requests) {
+            if (!isAfter(request, cursor) || Objects.equals(request.getRequestor().getId(), userId)) {
+                continue;
+            }
+            page.add(request);
+            if (page.size() == limit) {
+                return Optional.of(page);
+            }
+        }
+        return current.complete ? Optional.of(page) : Optional.empty();
+    }
+
+    private synchronized void insert(ItemRequest entry) {
+        Snapshot current = snapshot;
+        ItemRequest[] requests = current.requests;
+
+        int position = Arrays.binarySearch(requests, entry, NEWEST_FIRST);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+
+        boolean full = requests.length == capacity;
+        if (full && position == capacity) {
+            snapshot = new Snapshot(requests, false);
+            return;
+        }
+
+        int length = full ? capacity : requests.length + 1;
+        ItemRequest[] updated = new ItemRequest[length];
+        System.arraycopy(requests, 0, updated, 0, position);
+        updated[position] = entry;
+        System.arraycopy(requests, position, updated, position + 1, length - position - 1);
+
+        snapshot = new Snapshot(updated, current.complete && !full);
+    }
+
+    private static boolean isAfter(ItemRequest request, KeysetCursor cursor) {
+        int compared = request.getCreated().compareTo(cursor.getTimestamp());
+        return compared < 0 || (compared == 0 && request.getId() < cursor.getId());
+    }
+
+    private static ItemRequest copy(ItemRequest request) {
+        return ItemRequest.builder()
+                .id(request.getId())
+                .description(request.getDescription())
+                .requestor(User.builder().id(request.getRequestor().getId()).build())
+                .created(request.getCreated())
+                .build();
+    }
+
+    private static class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(new ItemRequest[0], false);
+
+        final ItemRequest[] requests;
+        final boolean complete;
+
+        Snapshot(ItemRequest[] requests, boolean complete) {
+            this.requests = requests;
+            this.complete = complete;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.request;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.event.EventSubscriptions;
+import ru.practicum.shareit.item.ItemCreatedEvent;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * Pushes new requests of other users and items answering the subscriber's own requests, after commit.
+ */
+@Component
+public class RequestStream {
+    public static final String REQUEST_EVENT = "request";
+    public static final String ITEM_EVENT = "item";
+
+    private final EventSubscriptions subscriptions;
+
+    public RequestStream(TaskExecutor taskExecutor,
+                         @Value("${shareit.request.stream.buffer-size:256}") int bufferSize,
+                         @Value("${shareit.request.stream.timeout:30m}") Duration timeout) {
+        this.subscriptions = new EventSubscriptions(taskExecutor, bufferSize, timeout);
+    }
+
+    public SseEmitter subscribe(Long userId) {
+        return subscriptions.subscribe(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onRequestCreated(RequestCreatedEvent event) {
+        Long requestorId = event.getRequest().getRequestorId();
+        subscriptions.broadcast(userId -> !Objects.equals(userId, requestorId), REQUEST_EVENT, event.getRequest());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onItemCreated(ItemCreatedEvent event) {
+        if (event.getRequestorId() != null) {
+            subscriptions.publish(event.getRequestorId(), ITEM_EVENT, event.getItem());
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package ru.practicum.shareit.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.user.dto.UserBatchResultDto;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+import ru.practicum.shareit.web.JsonArrayChunkReader;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Imports users with JDBC batch inserts, reporting the result of every row.
+ */
+@Slf4j
+@Component
+public class UserBatchImporter {
+    private static final String INSERT_USER = "INSERT INTO users (name, email) VALUES (?, ?)";
+    private static final String SELECT_BY_EMAILS = "SELECT id, email FROM users WHERE email IN (:emails)";
+    private static final String EMAIL_IS_USED = "Email is already used";
+    private static final String NOT_SAVED = "User could not be saved";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final JsonArrayChunkReader chunkReader;
+    private final int batchSize;
+
+    public UserBatchImporter(JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager,
+                             JsonArrayChunkReader chunkReader,
+                             @Value("${shareit.user.import.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkReader = chunkReader;
+        this.batchSize = batchSize;
+    }
+
+    public void importUsers(InputStream body, Consumer<UserBatchResultDto> results) {
+        chunkReader.read(body, UserRequestDto.class, "user", batchSize, new JsonArrayChunkReader.ChunkHandler<>() {
+            @Override
+            public void accept(int firstIndex, List<UserRequestDto> users) {
+                List<Row> chunk = new ArrayList<>(users.size());
+                for (UserRequestDto user : users) {
+                    chunk.add(new Row(firstIndex + chunk.size(), user, chunkReader.validate(user)));
+                }
+                insert(chunk).forEach(results);
+            }
+
+            @Override
+            public void failed(int index, String error) {
+                results.accept(UserBatchImporter.failed(index, null, error));
+            }
+        });
+    }
+
+    private List<UserBatchResultDto> insert(List<Row> chunk) {
+        if (chunk.isEmpty()) {
+            return List.of();
+        }
+
+        List<UserBatchResultDto> results = new ArrayList<>();
+        Set<String> emails = new HashSet<>();
+        List<Row> candidates = new ArrayList<>();
+        for (Row row : chunk) {
+            if (row.error != null) {
+                results.add(failed(row.index, row.user.getEmail(), row.error));
+            } else if (emails.add(row.user.getEmail())) {
+                candidates.add(row);
+            } else {
+                results.add(failed(row.index, row.user.getEmail(), EMAIL_IS_USED));
+            }
+        }
+
+        Set<String> existing = findIdsByEmails(emails).keySet();
+        List<Row> rows = new ArrayList<>();
+        for (Row row : candidates) {
+            if (existing.contains(row.user.getEmail())) {
+                results.add(failed(row.index, row.user.getEmail(), EMAIL_IS_USED));
+            } else {
+                rows.add(row);
+            }
+        }
+
+        insertBatch(rows);
+        Map<String, Long> ids = findIdsByEmails(rows.stream()
+                .filter(row -> row.error == null)
+                .map(row -> row.user.getEmail())
+                .collect(Collectors.toSet()));
+        for (Row row : rows) {
+            results.add(row.error != null
+                    ? failed(row.index, row.user.getEmail(), row.error)
+                    : UserBatchResultDto.builder().index(row.index).id(ids.get(row.user.getEmail()))
+                    .email(row.user.getEmail()).build());
+        }
+
+        results.sort(Comparator.comparing(UserBatchResultDto::getIndex));
+        return results;
+    }
+
+    private void insertBatch(List<Row> rows) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_USER, rows, rows.size(),
+                    (statement, row) -> {
+                        statement.setString(1, row.user.getName());
+                        statement.setString(2, row.user.getEmail());
+                    }));
+        } catch (DataIntegrityViolationException ex) {
+            rows.forEach(this::insertRow);
+        }
+    }
+
+    private void insertRow(Row row) {
+        try {
+            jdbcTemplate.update(INSERT_USER, row.user.getName(), row.user.getEmail());
+        } catch (DuplicateKeyException ex) {
+            row.error = EMAIL_IS_USED;
+        } catch (DataIntegrityViolationException ex) {
+            log.warn("User at index {} was not imported: {}", row.index, ex.getMessage());
+            row.error = NOT_SAVED;
+        }
+    }
+
+    private Map<String, Long> findIdsByEmails(Set<String> emails) {
+        if (emails.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, Long> ids = new HashMap<>();
+        namedJdbcTemplate.query(SELECT_BY_EMAILS, new MapSqlParameterSource("emails", emails),
+                resultSet -> {
+                    ids.put(resultSet.getString("email"), resultSet.getLong("id"));
+                });
+        return ids;
+    }
+
+    private static UserBatchResultDto failed(int index, String email, String error) {
+        return UserBatchResultDto.builder().index(index).email(email).error(error).build();
+    }
+
+    private static class Row {
+        private final int index;
+        private final UserRequestDto user;
+        private String error;
+
+        Row(int index, UserRequestDto user, String error) {
+            this.index = index;
+            this.user = user;
+            this.error = error;
+        }
+    }
+}
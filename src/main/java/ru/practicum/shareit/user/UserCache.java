@@ -0,0 +1,57 @@
+package ru.practicum.shareit.user;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.persistence.TransactionCallbacks;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Bounded, time-evicting cache of users by id that hands out copies.
+ */
+@Component
+public class UserCache {
+    public static final String CACHE_NAME = "users";
+
+    private final Cache<Long, User> cache;
+
+    public UserCache(@Value("${shareit.user.cache.max-size:10000}") long maxSize,
+                     @Value("${shareit.user.cache.ttl:5m}") Duration ttl,
+                     ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry.getIfAvailable(() -> Metrics.globalRegistry), cache, CACHE_NAME);
+    }
+
+    public Optional<User> get(Long userId, Function<Long, Optional<User>> loader) {
+        User user = cache.get(userId, id -> loader.apply(id).map(UserCache::copy).orElse(null));
+        return Optional.ofNullable(user).map(UserCache::copy);
+    }
+
+    public boolean contains(Long userId) {
+        return cache.getIfPresent(userId) != null;
+    }
+
+    public void invalidate(Long userId) {
+        TransactionCallbacks.nowAndAfterCompletion(() -> cache.invalidate(userId));
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    private static User copy(User user) {
+        return User.builder().id(user.getId()).name(user.getName()).email(user.getEmail()).build();
+    }
+}
@@ -1,11 +1,18 @@
 package ru.practicum.shareit.user;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.user.dto.UserBatchResultDto;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.web.NdjsonResponseWriter;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -13,6 +20,7 @@ import java.util.List;
 @RequestMapping(path = "/users")
 public class UserController {
     private final UserService userService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     public List<UserResponseDto> getAllUsers() {
@@ -29,6 +37,13 @@ public class UserController {
         return userService.createUser(userRequestDto);
     }
 
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public void createUsers(InputStream body, HttpServletResponse response) throws IOException {
+        NdjsonResponseWriter<UserBatchResultDto> results = new NdjsonResponseWriter<>(objectMapper, response);
+        userService.createUsers(body, results);
+        results.finish();
+    }
+
     @PatchMapping("/{userId}")
     public UserResponseDto updateUser(@RequestBody UserRequestDto userRequestDto, @PathVariable(name = "userId") Long userId) {
         return userService.updateUserById(userRequestDto, userId);
@@ -1,13 +1,18 @@
 package ru.practicum.shareit.user;
 
+import ru.practicum.shareit.user.dto.UserBatchResultDto;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface UserService {
     UserResponseDto createUser(UserRequestDto userRequestDto);
 
+    void createUsers(InputStream body, Consumer<UserBatchResultDto> results);
+
     List<UserResponseDto> getAllUsers();
 
     UserResponseDto updateUserById(UserRequestDto userRequestDto, Long userId);
@@ -4,22 +4,38 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.NoFoundObjectException;
+import ru.practicum.shareit.item.ItemDetailsCache;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.request.RequestFeed;
+import ru.practicum.shareit.user.dto.UserBatchResultDto;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 
+import java.io.InputStream;
 import java.util.List;
 import java.util.Objects;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
     private final UserRepository userRepository;
+    private final UserCache userCache;
+    private final UserBatchImporter userBatchImporter;
+    private final RequestFeed requestFeed;
+    private final ItemDetailsCache itemDetailsCache;
+    private final ItemSearchIndex itemSearchIndex;
 
     @Override
     @Transactional
     public UserResponseDto createUser(UserRequestDto userRequestDto) {
         User newUser = UserMapper.dtoToObject(userRequestDto);
-        return UserMapper.objectToDto(userRepository.save(newUser));
+        return UserMapper.objectToDto(userRepository.saveAndFlush(newUser));
+    }
+
+    @Override
+    public void createUsers(InputStream body, Consumer<UserBatchResultDto> results) {
+        userBatchImporter.importUsers(body, results);
     }
 
     @Override
@@ -43,6 +59,7 @@ public class UserServiceImpl implements UserService {
         }
 
         User savedUser = userRepository.save(user);
+        userCache.invalidate(userId);
 
         return UserMapper.objectToDto(savedUser);
     }
@@ -59,14 +76,14 @@ public class UserServiceImpl implements UserService {
     @Override
     @Transactional
     public User findUserById(Long userId) {
-        return userRepository.findById(userId)
+        return userCache.get(userId, userRepository::findById)
                 .orElseThrow(() -> new NoFoundObjectException(String.format("User with id='%s' not found", userId)));
     }
 
     @Override
     @Transactional
     public void checkExistUserById(Long userId) {
-        if (userRepository.findById(userId).isEmpty()) {
+        if (!userCache.contains(userId) && !userRepository.existsById(userId)) {
             throw new NoFoundObjectException(String.format("User with id='%s' not found", userId));
         }
     }
@@ -75,7 +92,11 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void deleteUserById(Long userId) {
         checkExistUserById(userId);
+        itemSearchIndex.removeOwner(userId);
         userRepository.deleteById(userId);
+        userCache.invalidate(userId);
+        itemDetailsCache.invalidateAll();
+        requestFeed.removeRequestor(userId);
     }
 
 }
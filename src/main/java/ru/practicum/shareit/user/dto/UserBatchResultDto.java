@@ -0,0 +1,17 @@
+package ru.practicum.shareit.user.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+@Builder
+@AllArgsConstructor
+public class UserBatchResultDto {
+    private Integer index;
+    private Long id;
+    private String email;
+    private String error;
+}
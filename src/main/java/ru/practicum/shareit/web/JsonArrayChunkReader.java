@@ -0,0 +1,88 @@
+package ru.practicum.shareit.web;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.exception.NoValidArgumentException;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Reads a JSON array request body in chunks, so imports never hold the whole body in memory.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JsonArrayChunkReader {
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public <T> void read(InputStream body, Class<T> type, String name, int chunkSize, ChunkHandler<T> handler) {
+        List<T> chunk = new ArrayList<>(chunkSize);
+        long started = System.nanoTime();
+        int index = 0;
+
+        try (JsonParser parser = objectMapper.getFactory().createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new NoValidArgumentException(String.format("Request body must be a JSON array of %ss", name));
+            }
+
+            try {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    chunk.add(parser.readValueAs(type));
+                    index++;
+
+                    if (chunk.size() == chunkSize) {
+                        handler.accept(index - chunk.size(), chunk);
+                        chunk.clear();
+                    }
+                }
+
+                handler.accept(index - chunk.size(), chunk);
+                if (parser.currentToken() != JsonToken.END_ARRAY) {
+                    handler.failed(index, "Expected a JSON object");
+                }
+            } catch (JsonProcessingException ex) {
+                handler.accept(index - chunk.size(), chunk);
+                handler.failed(index, String.format("Malformed %s: %s", name, ex.getOriginalMessage()));
+            }
+        } catch (JsonProcessingException ex) {
+            throw new NoValidArgumentException(String.format("Malformed request body: %s", ex.getOriginalMessage()));
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+
+        long elapsedNanos = Math.max(System.nanoTime() - started, 1);
+        log.info("Imported {} {}s in {} ms ({} rows/s)", index, name, elapsedNanos / 1_000_000,
+                index * 1_000_000_000L / elapsedNanos);
+    }
+
+    public <T> String validate(T value) {
+        Set<ConstraintViolation<T>> violations = validator.validate(value);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    public interface ChunkHandler<T> {
+        void accept(int firstIndex, List<T> chunk);
+
+        void failed(int index, String error);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.practicum.shareit.web;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.util.StringUtils;
+import ru.practicum.shareit.exception.NoValidArgumentException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a listing ordered by (timestamp desc, id desc), passed to clients as an opaque string.
+ */
+@Getter
+@AllArgsConstructor
+public class KeysetCursor {
+    private static final String SEPARATOR = "|";
+
+    public static final KeysetCursor FIRST = new KeysetCursor(LocalDateTime.of(9999, 12, 31, 0, 0), Long.MAX_VALUE);
+
+    private final LocalDateTime timestamp;
+    private final Long id;
+
+    public static KeysetCursor decode(String cursor) {
+        if (!StringUtils.hasLength(cursor)) {
+            return FIRST;
+        }
+
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = value.indexOf(SEPARATOR);
+
+            return new KeysetCursor(LocalDateTime.parse(value.substring(0, separator)),
+                    Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException ex) {
+            throw new NoValidArgumentException(String.format("Cursor '%s' is invalid", cursor));
+        }
+    }
+
+    public String encode() {
+        String value = timestamp + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Writes values as NDJSON, leaving the response untouched until the first one.
+ */
+public class NdjsonResponseWriter<T> implements Consumer<T> {
+    private final ObjectMapper objectMapper;
+    private final HttpServletResponse response;
+    private SequenceWriter writer;
+
+    public NdjsonResponseWriter(ObjectMapper objectMapper, HttpServletResponse response) {
+        this.objectMapper = objectMapper;
+        this.response = response;
+    }
+
+    @Override
+    public void accept(T value) {
+        try {
+            open().write(value);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public void finish() throws IOException {
+        boolean empty = writer == null;
+        open().flush();
+        if (!empty) {
+            response.getOutputStream().write('\n');
+        }
+        writer.close();
+    }
+
+    private SequenceWriter open() throws IOException {
+        if (writer == null) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+            writer = objectMapper.writer()
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                    .withRootValueSeparator("\n")
+                    .writeValues(response.getOutputStream());
+        }
+        return writer;
+    }
+}
@@ -0,0 +1,65 @@
+-- One-off migration, run by hand (psql -f) before the first start that adds ex_bookings_item_period
+-- to a database which may hold overlapping active bookings. It is not part of spring.sql.init.
+--
+-- Active bookings of an item are kept in order: APPROVED before WAITING, then by id. A booking that
+-- overlaps one already kept is rejected, so each booking is only checked against the survivors.
+-- The rejected bookings are listed before the transaction commits.
+
+BEGIN;
+
+CREATE TEMPORARY TABLE kept_bookings
+(
+    id      BIGINT PRIMARY KEY,
+    item_id BIGINT  NOT NULL,
+    period  TSRANGE NOT NULL
+) ON COMMIT DROP;
+
+CREATE TEMPORARY TABLE rejected_bookings
+(
+    id             BIGINT PRIMARY KEY,
+    item_id        BIGINT      NOT NULL,
+    status         VARCHAR(50) NOT NULL,
+    start_date     TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    end_date       TIMESTAMP WITHOUT TIME ZONE NOT NULL,
+    conflicting_id BIGINT      NOT NULL
+) ON COMMIT DROP;
+
+DO $$
+DECLARE
+    booking  RECORD;
+    conflict BIGINT;
+BEGIN
+    FOR booking IN SELECT id, item_id, status, start_date, end_date
+                   FROM bookings
+                   WHERE status IN ('WAITING', 'APPROVED')
+                   ORDER BY item_id, CASE status WHEN 'APPROVED' THEN 0 ELSE 1 END, id
+    LOOP
+        SELECT k.id INTO conflict
+        FROM kept_bookings k
+        WHERE k.item_id = booking.item_id
+          AND k.period && tsrange(booking.start_date, booking.end_date)
+        ORDER BY k.id
+        LIMIT 1;
+
+        IF conflict IS NULL THEN
+            INSERT INTO kept_bookings
+            VALUES (booking.id, booking.item_id, tsrange(booking.start_date, booking.end_date));
+        ELSE
+            INSERT INTO rejected_bookings
+            VALUES (booking.id, booking.item_id, booking.status, booking.start_date, booking.end_date, conflict);
+        END IF;
+    END LOOP;
+
+    UPDATE bookings
+    SET status = 'REJECTED'
+    WHERE id IN (SELECT id FROM rejected_bookings);
+
+    RAISE NOTICE 'Rejected % overlapping bookings', (SELECT COUNT(*) FROM rejected_bookings);
+END
+$$;
+
+SELECT id, item_id, status, start_date, end_date, conflicting_id
+FROM rejected_bookings
+ORDER BY item_id, id;
+
+COMMIT;
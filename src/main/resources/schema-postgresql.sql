@@ -0,0 +1,37 @@
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_items_name_trgm ON items USING GIN (upper(name) gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_items_description_trgm ON items USING GIN (upper(description) gin_trgm_ops);
+
+CREATE EXTENSION IF NOT EXISTS btree_gist;
+
+-- Created once. Startup fails while active bookings of an item overlap; resolve them first with
+-- db/resolve-booking-overlaps.sql.
+DO '
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''ex_bookings_item_period'') THEN
+        ALTER TABLE bookings ADD CONSTRAINT ex_bookings_item_period
+            EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&)
+            WHERE (status IN (''WAITING'', ''APPROVED''));
+    END IF;
+END';
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM users), (SELECT last_value FROM users_seq)));
+
+ALTER TABLE requests ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE requests ALTER COLUMN id SET DEFAULT nextval('requests_seq');
+SELECT setval('requests_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM requests), (SELECT last_value FROM requests_seq)));
+
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE items ALTER COLUMN id SET DEFAULT nextval('items_seq');
+SELECT setval('items_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM items), (SELECT last_value FROM items_seq)));
+
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE bookings ALTER COLUMN id SET DEFAULT nextval('bookings_seq');
+SELECT setval('bookings_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM bookings), (SELECT last_value FROM bookings_seq)));
+
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+SELECT setval('comments_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM comments), (SELECT last_value FROM comments_seq)));
@@ -1,6 +1,12 @@
+CREATE SEQUENCE IF NOT EXISTS users_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE IF NOT EXISTS requests_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE IF NOT EXISTS items_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE IF NOT EXISTS bookings_seq START WITH 1 INCREMENT BY 1;
+CREATE SEQUENCE IF NOT EXISTS comments_seq START WITH 1 INCREMENT BY 1;
+
 CREATE TABLE IF NOT EXISTS users
 (
-    id    BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id    BIGINT NOT NULL,
     name  VARCHAR(255) NOT NULL,
     email VARCHAR(512) NOT NULL UNIQUE,
     CONSTRAINT pk_users PRIMARY KEY (id),
@@ -9,7 +15,7 @@ CREATE TABLE IF NOT EXISTS users
 
 CREATE TABLE IF NOT EXISTS requests
 (
-    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id           BIGINT NOT NULL,
     description  VARCHAR(512) NOT NULL,
     requestor_id BIGINT       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
     date_created TIMESTAMP WITHOUT TIME ZONE NOT NULL,
@@ -18,7 +24,7 @@ CREATE TABLE IF NOT EXISTS requests
 
 CREATE TABLE IF NOT EXISTS items
 (
-    id           BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id           BIGINT NOT NULL,
     name         VARCHAR(255) NOT NULL,
     description  VARCHAR(512) NOT NULL,
     is_available BOOLEAN      NOT NULL,
@@ -29,21 +35,32 @@ CREATE TABLE IF NOT EXISTS items
 
 CREATE TABLE IF NOT EXISTS bookings
 (
-    id         BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id         BIGINT NOT NULL,
     start_date TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     end_date   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     item_id    BIGINT      NOT NULL REFERENCES items (id) ON DELETE CASCADE,
     booker_id  BIGINT      NOT NULL REFERENCES users (id) ON DELETE CASCADE,
     status     VARCHAR(50) NOT NULL,
+    version    BIGINT      NOT NULL DEFAULT 0,
     CONSTRAINT pk_bookings PRIMARY KEY (id)
 );
 
+ALTER TABLE bookings ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
 CREATE TABLE IF NOT EXISTS comments
 (
-    id        BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
+    id        BIGINT NOT NULL,
     text      VARCHAR(512) NOT NULL,
     item_id   BIGINT       NOT NULL REFERENCES items (id) ON DELETE CASCADE,
     author_id BIGINT       NOT NULL REFERENCES users (id) ON DELETE CASCADE,
     created   TIMESTAMP WITHOUT TIME ZONE NOT NULL,
     CONSTRAINT pk_comments PRIMARY KEY (id)
-);
\ No newline at end of file
+);
+
+CREATE INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date DESC);
+CREATE INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+CREATE INDEX IF NOT EXISTS idx_items_owner ON items (owner_id);
+CREATE INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+CREATE INDEX IF NOT EXISTS idx_comments_item ON comments (item_id);
+CREATE INDEX IF NOT EXISTS idx_requests_requestor_created ON requests (requestor_id, date_created);
+CREATE INDEX IF NOT EXISTS idx_requests_created_id_requestor ON requests (date_created DESC, id DESC, requestor_id);
@@ -0,0 +1,52 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.jdbc.Sql;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
+
+@DataJpaTest
+@DirtiesContext(classMode = AFTER_EACH_TEST_METHOD)
+@Sql("classpath:repository/data.sql")
+class SchemaIndexTest {
+
+    @Autowired
+    EntityManager entityManager;
+
+    @Test
+    void bookingsByBooker_useBookerStartIndex() {
+        String plan = explain("SELECT * FROM bookings " +
+                "WHERE booker_id = 3 AND start_date > '2023-06-01 10:13:30' " +
+                "ORDER BY start_date DESC");
+
+        assertThat(plan).containsIgnoringCase("idx_bookings_booker_start");
+    }
+
+    @Test
+    void bookingsByItemAndStatus_useItemStatusStartIndex() {
+        String plan = explain("SELECT * FROM bookings " +
+                "WHERE item_id = 1 AND status = 'APPROVED' AND start_date < '2023-06-30 10:13:30' " +
+                "ORDER BY start_date DESC");
+
+        assertThat(plan).containsIgnoringCase("idx_bookings_item_status_start");
+    }
+
+    @Test
+    void requestsByRequestor_useRequestorCreatedIndex() {
+        String plan = explain("SELECT * FROM requests " +
+                "WHERE requestor_id = 2 AND date_created < '2023-06-30 10:13:30' " +
+                "ORDER BY date_created DESC");
+
+        assertThat(plan).containsIgnoringCase("idx_requests_requestor_created");
+    }
+
+    private String explain(String sql) {
+        return String.valueOf(entityManager.createNativeQuery("EXPLAIN " + sql).getSingleResult());
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.item.Item;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class BookingCalendarTest {
+    static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 10, 0);
+    static final LocalDateTime NOW = LocalDateTime.of(2029, 12, 1, 10, 0);
+
+    BookingRepository bookingRepository;
+    Clock clock;
+    BookingCalendar underTest;
+
+    @BeforeEach
+    void prepare() {
+        bookingRepository = mock(BookingRepository.class);
+        when(bookingRepository.findActiveAfter(anyCollection(), any(LocalDateTime.class), anyLong(), any()))
+                .thenReturn(List.of(
+                        new BookingDto(1L, BASE, BASE.plusHours(2), 3L, 1L),
+                        new BookingDto(2L, BASE.plusHours(4), BASE.plusHours(6), 3L, 1L),
+                        new BookingDto(3L, BASE, BASE.plusHours(6), 3L, 2L)))
+                .thenReturn(List.of());
+
+        clock = mock(Clock.class);
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(clock.instant()).thenReturn(NOW.toInstant(ZoneOffset.UTC));
+        underTest = new BookingCalendar(bookingRepository, clock);
+        underTest.rebuild();
+    }
+
+    @Test
+    void isFree_false_periodOverlapsBooking() {
+        assertThat(underTest.isFree(1L, BASE.plusHours(1), BASE.plusHours(3))).isFalse();
+        assertThat(underTest.isFree(1L, BASE.minusHours(1), BASE.plusHours(7))).isFalse();
+    }
+
+    @Test
+    void isFree_true_periodBetweenBookings() {
+        assertThat(underTest.isFree(1L, BASE.plusHours(2), BASE.plusHours(4))).isTrue();
+        assertThat(underTest.isFree(1L, BASE.plusHours(6), BASE.plusHours(8))).isTrue();
+    }
+
+    @Test
+    void isFree_true_itemWithoutBookings() {
+        assertThat(underTest.isFree(5L, BASE, BASE.plusHours(1))).isTrue();
+    }
+
+    @Test
+    void nextFreeSlot_firstGapThatFits_durationGiven() {
+        assertThat(underTest.nextFreeSlot(1L, BASE, Duration.ofHours(1))).isEqualTo(BASE.plusHours(2));
+        assertThat(underTest.nextFreeSlot(1L, BASE, Duration.ofHours(3))).isEqualTo(BASE.plusHours(6));
+        assertThat(underTest.nextFreeSlot(1L, BASE.minusHours(2), Duration.ofHours(1))).isEqualTo(BASE.minusHours(2));
+    }
+
+    @Test
+    void remove_periodBecomesFree_bookingRejected() {
+        underTest.remove(1L, 2L);
+
+        assertThat(underTest.isFree(1L, BASE.plusHours(4), BASE.plusHours(6))).isTrue();
+        assertThat(underTest.nextFreeSlot(1L, BASE, Duration.ofHours(3))).isEqualTo(BASE.plusHours(2));
+    }
+
+    @Test
+    void add_periodBecomesBusy_bookingCreated() {
+        Booking booking = Booking.builder()
+                .id(4L)
+                .item(Item.builder().id(1L).build())
+                .start(BASE.plusHours(2))
+                .end(BASE.plusHours(3))
+                .build();
+
+        underTest.add(booking);
+
+        assertThat(underTest.isFree(1L, BASE.plusHours(2), BASE.plusHours(4))).isFalse();
+        assertThat(underTest.nextFreeSlot(1L, BASE, Duration.ofHours(1))).isEqualTo(BASE.plusHours(3));
+    }
+
+    @Test
+    void add_endedWindowsDropped_itemRewritten() {
+        Item item = Item.builder().id(5L).build();
+        Booking running = Booking.builder()
+                .id(6L)
+                .item(item)
+                .start(NOW.minusHours(2))
+                .end(NOW.plusHours(1))
+                .build();
+        Booking next = Booking.builder()
+                .id(7L)
+                .item(item)
+                .start(BASE)
+                .end(BASE.plusHours(1))
+                .build();
+
+        underTest.add(running);
+        assertThat(underTest.isFree(5L, NOW.minusHours(1), NOW)).isFalse();
+
+        when(clock.instant()).thenReturn(NOW.plusHours(2).toInstant(ZoneOffset.UTC));
+        underTest.add(next);
+
+        assertThat(underTest.isFree(5L, NOW.minusHours(1), NOW)).isTrue();
+        assertThat(underTest.isFree(5L, BASE, BASE.plusHours(1))).isFalse();
+    }
+}
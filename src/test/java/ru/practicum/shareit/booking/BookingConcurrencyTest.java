@@ -0,0 +1,106 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.exception.NoCorrectRequestException;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:booking-concurrency")
+@DirtiesContext
+class BookingConcurrencyTest {
+    private static final int REQUESTS = 2_000;
+    private static final int THREADS = 16;
+    private static final int BOOKERS = 8;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    BookingRepository bookingRepository;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ItemService itemService;
+
+    @Test
+    void createBooking_noOverlappingBookings_parallelRequests() throws Exception {
+        UserResponseDto owner = userService.createUser(UserRequestDto.builder()
+                .name("Owner").email("owner@mail.ru").build());
+
+        List<Long> bookerIds = new ArrayList<>();
+        for (int i = 0; i < BOOKERS; i++) {
+            bookerIds.add(userService.createUser(UserRequestDto.builder()
+                    .name("Booker" + i).email("booker" + i + "@mail.ru").build()).getId());
+        }
+
+        ItemResponseDto item = itemService.createItem(ItemRequestDto.builder()
+                .name("Drill").description("Cordless drill").available(true).build(), owner.getId());
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        List<Callable<Boolean>> tasks = new ArrayList<>();
+        for (int i = 0; i < REQUESTS; i++) {
+            tasks.add(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                LocalDateTime start = base.plusHours(random.nextInt(500));
+                BookingRequestDto request = BookingRequestDto.builder()
+                        .itemId(item.getId())
+                        .start(start)
+                        .end(start.plusHours(1 + random.nextInt(12)))
+                        .build();
+                try {
+                    bookingService.createBooking(bookerIds.get(random.nextInt(BOOKERS)), request);
+                    return true;
+                } catch (NoCorrectRequestException ex) {
+                    return false;
+                }
+            });
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        long created = 0;
+        try {
+            for (Future<Boolean> future : executor.invokeAll(tasks)) {
+                if (future.get()) {
+                    created++;
+                }
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        List<Booking> bookings = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getStatus() == Status.WAITING)
+                .sorted(Comparator.comparing(Booking::getStart))
+                .collect(Collectors.toList());
+
+        assertThat(created).isPositive();
+        assertThat(bookings).hasSize((int) created);
+        for (int i = 1; i < bookings.size(); i++) {
+            assertThat(bookings.get(i).getStart()).isAfterOrEqualTo(bookings.get(i - 1).getEnd());
+        }
+    }
+}
@@ -8,11 +8,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NoCorrectRequestException;
 import ru.practicum.shareit.exception.NoFoundObjectException;
 import ru.practicum.shareit.exception.NoValidArgumentException;
@@ -26,10 +30,12 @@ import javax.validation.ValidatorFactory;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
@@ -254,6 +260,33 @@ class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.id").doesNotExist());
     }
 
+    @Test
+    void changeBookingStatus_statusConflict_concurrentModification() throws Exception {
+        doThrow(ConflictException.class)
+                .when(bookingService).updateStatusById(anyLong(), anyBoolean(), anyLong());
+
+        mvc.perform(patch("/bookings/1")
+                        .header(userIdHeader, 1)
+                        .param("approved", "true"))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").doesNotExist());
+    }
+
+    @Test
+    void changeBookingStatus_statusConflict_optimisticLockingFailure() throws Exception {
+        doThrow(new ObjectOptimisticLockingFailureException(Booking.class, 1L))
+                .when(bookingService).updateStatusById(anyLong(), anyBoolean(), anyLong());
+
+        mvc.perform(patch("/bookings/1")
+                        .header(userIdHeader, 1)
+                        .param("approved", "true"))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isConflict())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message")
+                        .value("Booking with id='1' was modified concurrently, try again"));
+    }
+
     @Test
     void changeBookingStatus_statusBadRequest_statusBookingIsNotWaiting() throws Exception {
         doThrow(NoCorrectRequestException.class)
@@ -410,4 +443,137 @@ class BookingControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isBadRequest())
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0]").doesNotExist());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllBookingsBooker_statusOkAndNextCursorHeader_cursorModeRequested() throws Exception {
+        BookingResponseDto bookingResponse = BookingResponseDto.builder()
+                .id(10L)
+                .start(LocalDateTime.now().plusDays(10))
+                .end(LocalDateTime.now().plusDays(30))
+                .status(Status.APPROVED)
+                .booker(new UserDto(1L, "Mike"))
+                .item(ItemDto.builder().id(1L).name("Book").build())
+                .build();
+
+        when(bookingService.getPageByBookerId(anyLong(), any(), any(), anyInt()))
+                .thenReturn(new BookingPageDto(List.of(bookingResponse), "next"));
+
+        mvc.perform(MockMvcRequestBuilders.get("/bookings")
+                        .header(userIdHeader, 1)
+                        .param("size", "1")
+                        .param("cursor", ""))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("X-Next-Cursor", "next"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(10L));
+    }
+
+    @Test
+    void getAllBookingsOwner_statusOkWithoutNextCursorHeader_lastPage() throws Exception {
+        when(bookingService.getPageByOwnerId(anyLong(), any(), any(), anyInt()))
+                .thenReturn(new BookingPageDto(List.of(), null));
+
+        mvc.perform(MockMvcRequestBuilders.get("/bookings/owner")
+                        .header(userIdHeader, 1)
+                        .param("cursor", "abc"))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist("X-Next-Cursor"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0]").doesNotExist());
+    }
+
+    @Test
+    void exportBookingsOwner_ndjsonLinePerBooking_ownerHasBookings() throws Exception {
+        exportBooking(BookingResponseDto.builder()
+                .id(10L)
+                .start(LocalDateTime.of(2030, 1, 1, 10, 0))
+                .end(LocalDateTime.of(2030, 1, 2, 10, 0))
+                .booker(new UserDto(2L, "Mike"))
+                .item(ItemDto.builder().id(1L).name("Book").build())
+                .status(Status.APPROVED)
+                .build());
+
+        String body = mvc.perform(MockMvcRequestBuilders.get("/bookings/owner/export")
+                        .header(userIdHeader, 1)
+                        .param("state", "PAST"))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(body.endsWith("\n"));
+        assertEquals(10L, objectMapper.readTree(body.trim()).get("id").asLong());
+    }
+
+    @Test
+    void exportBookingsOwner_csvRowPerBooking_formatIsCsv() throws Exception {
+        exportBooking(BookingResponseDto.builder()
+                .id(10L)
+                .start(LocalDateTime.of(2030, 1, 1, 10, 0))
+                .end(LocalDateTime.of(2030, 1, 2, 10, 0))
+                .booker(new UserDto(2L, "Mike"))
+                .item(ItemDto.builder().id(1L).name("Book, \"old\"").build())
+                .status(Status.APPROVED)
+                .build());
+
+        mvc.perform(MockMvcRequestBuilders.get("/bookings/owner/export")
+                        .header(userIdHeader, 1)
+                        .param("format", "csv"))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "id,start,end,status,booker_id,booker_name,item_id,item_name\n" +
+                                "10,2030-01-01T10:00:00,2030-01-02T10:00:00,APPROVED,2,Mike,1,\"Book, \"\"old\"\"\"\n"));
+    }
+
+    @Test
+    void exportBookingsOwner_statusBadRequest_formatIsUnknown() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get("/bookings/owner/export")
+                        .header(userIdHeader, 1)
+                        .param("format", "xml"))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    void exportBookingsOwner_statusNotFound_ownerNotFound() throws Exception {
+        doThrow(NoFoundObjectException.class)
+                .when(bookingService)
+                .exportByOwnerId(anyLong(), any(), any());
+
+        mvc.perform(MockMvcRequestBuilders.get("/bookings/owner/export")
+                        .header(userIdHeader, 100))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    void streamBookings_asyncStarted_userExist() throws Exception {
+        when(bookingService.subscribe(anyLong()))
+                .thenReturn(new SseEmitter());
+
+        mvc.perform(MockMvcRequestBuilders.get("/bookings/stream")
+                        .header(userIdHeader, 1))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted());
+    }
+
+    @Test
+    void streamBookings_statusNotFound_userDoesNotExist() throws Exception {
+        doThrow(NoFoundObjectException.class)
+                .when(bookingService)
+                .subscribe(anyLong());
+
+        mvc.perform(MockMvcRequestBuilders.get("/bookings/stream")
+                        .header(userIdHeader, 100))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    private void exportBooking(BookingResponseDto booking) {
+        doAnswer(invocation -> {
+            Consumer<BookingResponseDto> bookings = invocation.getArgument(2);
+            bookings.accept(booking);
+            return null;
+        }).when(bookingService).exportByOwnerId(anyLong(), any(), any());
+    }
+}
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.booking;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -8,9 +9,14 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.web.KeysetCursor;
 
 import java.time.LocalDateTime;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
@@ -26,7 +32,7 @@ class BookingRepositoryTest {
     void findByBookerIdAndEndIsBefore_notEmptyResult_bookingExist() {
         LocalDateTime date = LocalDateTime.of(2023, 6, 25, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
-        List<Booking> result = bookingRepository.findByBookerIdAndEndIsBefore(3L, date, pageRequest);
+        List<BookingResponseDto> result = bookingRepository.findByBookerIdAndEndIsBefore(3L, date, pageRequest);
 
         assertThat(result).isNotEmpty();
         assertThat(result.get(0).getItem().getName()).isEqualTo("Book");
@@ -36,7 +42,7 @@ class BookingRepositoryTest {
     void findByBookerIdAndEndIsBefore_emptyResult_bookingDoesNotExist() {
         LocalDateTime date = LocalDateTime.of(2023, 6, 25, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
-        List<Booking> result = bookingRepository.findByBookerIdAndEndIsBefore(1L, date, pageRequest);
+        List<BookingResponseDto> result = bookingRepository.findByBookerIdAndEndIsBefore(1L, date, pageRequest);
 
         assertThat(result).isEmpty();
     }
@@ -45,7 +51,7 @@ class BookingRepositoryTest {
     void findAllByBookerId_notEmptyResult_bookingExist() {
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository.findAllByBookerId(3L, pageRequest);
+        List<BookingResponseDto> result = bookingRepository.findAllByBookerId(3L, pageRequest);
 
         assertThat(result).isNotEmpty();
         assertThat(result.get(0).getItem().getName()).isEqualTo("Book");
@@ -55,7 +61,7 @@ class BookingRepositoryTest {
     void findAllByBookerId_emptyResult_bookingDoesNotExist() {
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository.findAllByBookerId(1L, pageRequest);
+        List<BookingResponseDto> result = bookingRepository.findAllByBookerId(1L, pageRequest);
 
         assertThat(result).isEmpty();
     }
@@ -65,7 +71,7 @@ class BookingRepositoryTest {
         LocalDateTime date = LocalDateTime.of(2023, 6, 15, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
+        List<BookingResponseDto> result = bookingRepository
                 .findByBookerIdAndStartIsBeforeAndEndIsAfter(3L, date, date, pageRequest);
 
         assertThat(result).isNotEmpty();
@@ -77,7 +83,7 @@ class BookingRepositoryTest {
         LocalDateTime date = LocalDateTime.of(2023, 6, 15, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
+        List<BookingResponseDto> result = bookingRepository
                 .findByBookerIdAndStartIsBeforeAndEndIsAfter(1L, date, date, pageRequest);
 
         assertThat(result).isEmpty();
@@ -88,7 +94,7 @@ class BookingRepositoryTest {
         LocalDateTime date = LocalDateTime.of(2023, 6, 8, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
+        List<BookingResponseDto> result = bookingRepository
                 .findByBookerIdAndStartIsAfter(3L, date, pageRequest);
 
         assertThat(result).isNotEmpty();
@@ -100,102 +106,102 @@ class BookingRepositoryTest {
         LocalDateTime date = LocalDateTime.of(2023, 6, 8, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
+        List<BookingResponseDto> result = bookingRepository
                 .findByBookerIdAndStartIsAfter(1L, date, pageRequest);
 
         assertThat(result).isEmpty();
     }
 
     @Test
-    void findAllByItemIdIn_notEmptyResult_bookingExist() {
+    void findAllByItemOwnerId_notEmptyResult_bookingExist() {
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
-                .findAllByItemIdIn(List.of(1L, 2L), pageRequest);
+        List<BookingResponseDto> result = bookingRepository
+                .findAllByItemOwnerId(1L, pageRequest);
 
         assertThat(result).isNotEmpty();
-        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.size()).isEqualTo(1);
         assertThat(result.get(0).getItem().getName()).isEqualTo("Book");
     }
 
     @Test
-    void findAllByItemIdIn_emptyResult_bookingDoesNotExist() {
+    void findAllByItemOwnerId_emptyResult_bookingDoesNotExist() {
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
-                .findAllByItemIdIn(List.of(3L), pageRequest);
+        List<BookingResponseDto> result = bookingRepository
+                .findAllByItemOwnerId(3L, pageRequest);
 
         assertThat(result).isEmpty();
     }
 
     @Test
-    void findByItemIdInAndStartIsBeforeAndEndIsAfter_notEmptyResult_bookingExist() {
+    void findByItemOwnerIdAndStartIsBeforeAndEndIsAfter_notEmptyResult_bookingExist() {
         LocalDateTime date = LocalDateTime.of(2023, 6, 15, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
-                .findByItemIdInAndStartIsBeforeAndEndIsAfter(List.of(1L, 2L), date, date, pageRequest);
+        List<BookingResponseDto> result = bookingRepository
+                .findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(1L, date, date, pageRequest);
 
         assertThat(result).isNotEmpty();
-        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.size()).isEqualTo(1);
         assertThat(result.get(0).getItem().getName()).isEqualTo("Book");
     }
 
     @Test
-    void findByItemIdInAndStartIsBeforeAndEndIsAfter_emptyResult_bookingDoesNotExist() {
+    void findByItemOwnerIdAndStartIsBeforeAndEndIsAfter_emptyResult_bookingDoesNotExist() {
         LocalDateTime date = LocalDateTime.of(2023, 6, 15, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
-                .findByItemIdInAndStartIsBeforeAndEndIsAfter(List.of(3L), date, date, pageRequest);
+        List<BookingResponseDto> result = bookingRepository
+                .findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(3L, date, date, pageRequest);
 
         assertThat(result).isEmpty();
     }
 
     @Test
-    void findByItemIdInAndEndIsBefore_notEmptyResult_bookingExist() {
+    void findByItemOwnerIdAndEndIsBefore_notEmptyResult_bookingExist() {
         LocalDateTime date = LocalDateTime.of(2023, 6, 30, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
-                .findByItemIdInAndEndIsBefore(List.of(1L, 2L), date, pageRequest);
+        List<BookingResponseDto> result = bookingRepository
+                .findByItemOwnerIdAndEndIsBefore(1L, date, pageRequest);
 
         assertThat(result).isNotEmpty();
-        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.size()).isEqualTo(1);
         assertThat(result.get(0).getItem().getName()).isEqualTo("Book");
     }
 
     @Test
-    void findByItemIdInAndEndIsBefore_emptyResult_bookingDoesNotExist() {
+    void findByItemOwnerIdAndEndIsBefore_emptyResult_bookingDoesNotExist() {
         LocalDateTime date = LocalDateTime.of(2023, 6, 30, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
-                .findByItemIdInAndEndIsBefore(List.of(3L), date, pageRequest);
+        List<BookingResponseDto> result = bookingRepository
+                .findByItemOwnerIdAndEndIsBefore(3L, date, pageRequest);
 
         assertThat(result).isEmpty();
     }
 
     @Test
-    void findByItemIdInAndStartIsAfterAndStatusIs_notEmptyResult_bookingExist() {
+    void findByItemOwnerIdAndStartIsAfterAndStatusIs_notEmptyResult_bookingExist() {
         LocalDateTime date = LocalDateTime.of(2023, 6, 1, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
-                .findByItemIdInAndStartIsAfterAndStatusIs(List.of(1L, 2L), date, Status.APPROVED, pageRequest);
+        List<BookingResponseDto> result = bookingRepository
+                .findByItemOwnerIdAndStartIsAfterAndStatusIs(1L, date, Status.APPROVED, pageRequest);
 
         assertThat(result).isNotEmpty();
-        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.size()).isEqualTo(1);
         assertThat(result.get(0).getItem().getName()).isEqualTo("Book");
     }
 
     @Test
-    void findByItemIdInAndStartIsAfterAndStatusIs_emptyResult_bookingDoesNotExist() {
+    void findByItemOwnerIdAndStartIsAfterAndStatusIs_emptyResult_bookingDoesNotExist() {
         LocalDateTime date = LocalDateTime.of(2023, 6, 1, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
-                .findByItemIdInAndStartIsAfterAndStatusIs(List.of(3L), date, Status.WAITING, pageRequest);
+        List<BookingResponseDto> result = bookingRepository
+                .findByItemOwnerIdAndStartIsAfterAndStatusIs(3L, date, Status.WAITING, pageRequest);
 
         assertThat(result).isEmpty();
     }
@@ -205,7 +211,7 @@ class BookingRepositoryTest {
         LocalDateTime date = LocalDateTime.of(2023, 6, 1, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
+        List<BookingResponseDto> result = bookingRepository
                 .findByBookerIdAndStartIsAfterAndStatusIs(3L, date, Status.APPROVED, pageRequest);
 
         assertThat(result).isNotEmpty();
@@ -218,19 +224,19 @@ class BookingRepositoryTest {
         LocalDateTime date = LocalDateTime.of(2023, 6, 1, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
+        List<BookingResponseDto> result = bookingRepository
                 .findByBookerIdAndStartIsAfterAndStatusIs(1L, date, Status.APPROVED, pageRequest);
 
         assertThat(result).isEmpty();
     }
 
     @Test
-    void findByItemIdInAndStartIsAfter_notEmptyResult_bookingExist() {
+    void findByItemOwnerIdAndStartIsAfter_notEmptyResult_bookingExist() {
         LocalDateTime date = LocalDateTime.of(2023, 6, 1, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
-                .findByItemIdInAndStartIsAfter(List.of(1L), date, pageRequest);
+        List<BookingResponseDto> result = bookingRepository
+                .findByItemOwnerIdAndStartIsAfter(1L, date, pageRequest);
 
         assertThat(result).isNotEmpty();
         assertThat(result.size()).isEqualTo(1);
@@ -238,12 +244,12 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void findByItemIdInAndStartIsAfter_emptyResult_bookingDoesNotExist() {
+    void findByItemOwnerIdAndStartIsAfter_emptyResult_bookingDoesNotExist() {
         LocalDateTime date = LocalDateTime.of(2023, 6, 30, 10, 13, 30);
         PageRequest pageRequest = PageRequest.of(0, 10);
 
-        List<Booking> result = bookingRepository
-                .findByItemIdInAndStartIsAfter(List.of(3L), date, pageRequest);
+        List<BookingResponseDto> result = bookingRepository
+                .findByItemOwnerIdAndStartIsAfter(3L, date, pageRequest);
 
         assertThat(result).isEmpty();
     }
@@ -270,6 +276,79 @@ class BookingRepositoryTest {
         assertThat(result).isEmpty();
     }
 
+    @Test
+    void updateStatus_oneRowUpdated_versionAndStatusMatch() {
+        int result = bookingRepository.updateStatus(1L, 0L, Status.APPROVED, Status.REJECTED);
+
+        assertThat(result).isEqualTo(1);
+        Booking booking = bookingRepository.findById(1L).orElseThrow();
+        assertThat(booking.getStatus()).isEqualTo(Status.REJECTED);
+        assertThat(booking.getVersion()).isEqualTo(1L);
+    }
+
+    @Test
+    void updateStatus_noRowsUpdated_statusDoesNotMatch() {
+        int result = bookingRepository.updateStatus(1L, 0L, Status.WAITING, Status.APPROVED);
+
+        assertThat(result).isZero();
+    }
+
+    @Test
+    void updateStatus_noRowsUpdated_versionIsStale() {
+        int result = bookingRepository.updateStatus(1L, 5L, Status.APPROVED, Status.REJECTED);
+
+        assertThat(result).isZero();
+    }
+
+    @Test
+    void existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter_true_periodsOverlap() {
+        boolean result = bookingRepository.existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(1L,
+                EnumSet.of(Status.WAITING, Status.APPROVED),
+                LocalDateTime.of(2023, 6, 25, 0, 0), LocalDateTime.of(2023, 6, 15, 0, 0));
+
+        assertThat(result).isTrue();
+    }
+
+    @Test
+    void existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter_false_periodsDoNotOverlap() {
+        boolean result = bookingRepository.existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(1L,
+                EnumSet.of(Status.WAITING, Status.APPROVED),
+                LocalDateTime.of(2023, 6, 30, 0, 0), LocalDateTime.of(2023, 6, 21, 0, 0));
+
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    void existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter_false_statusDoesNotMatch() {
+        boolean result = bookingRepository.existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(1L,
+                EnumSet.of(Status.WAITING),
+                LocalDateTime.of(2023, 6, 25, 0, 0), LocalDateTime.of(2023, 6, 15, 0, 0));
+
+        assertThat(result).isFalse();
+    }
+
+    @Test
+    void findActiveAfter_bookingsAfterLastId_bookingsNotFinished() {
+        LocalDateTime date = LocalDateTime.of(2023, 6, 15, 0, 0);
+
+        List<BookingDto> result = bookingRepository.findActiveAfter(EnumSet.of(Status.WAITING, Status.APPROVED),
+                date, 1L, PageRequest.of(0, 10));
+
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getId()).isEqualTo(2L);
+        assertThat(result.get(0).getItemId()).isEqualTo(2L);
+    }
+
+    @Test
+    void findActiveAfter_emptyResult_bookingsFinished() {
+        LocalDateTime date = LocalDateTime.of(2023, 6, 25, 0, 0);
+
+        List<BookingDto> result = bookingRepository.findActiveAfter(EnumSet.of(Status.WAITING, Status.APPROVED),
+                date, 0L, PageRequest.of(0, 10));
+
+        assertThat(result).isEmpty();
+    }
+
     @Test
     void findLastBooking_notEmptyResult_bookingExist() {
         LocalDateTime date = LocalDateTime.of(2023, 6, 30, 10, 13, 30);
@@ -315,4 +394,113 @@ class BookingRepositoryTest {
 
         assertThat(result).isEmpty();
     }
+
+    @Test
+    void findLastAndNextBookings_lastBookings_bookingsInPast() {
+        LocalDateTime date = LocalDateTime.of(2023, 6, 30, 10, 13, 30);
+
+        List<BookingDto> result = bookingRepository
+                .findLastAndNextBookings(List.of(1L, 2L), Status.APPROVED, date);
+
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.get(0).getItemId()).isEqualTo(1L);
+        assertThat(result.get(1).getItemId()).isEqualTo(2L);
+        assertThat(result.get(0).getStart()).isBefore(date);
+    }
+
+    @Test
+    void findLastAndNextBookings_nextBookings_bookingsInFuture() {
+        LocalDateTime date = LocalDateTime.of(2023, 6, 1, 10, 13, 30);
+
+        List<BookingDto> result = bookingRepository
+                .findLastAndNextBookings(List.of(1L), Status.APPROVED, date);
+
+        assertThat(result.size()).isEqualTo(1);
+        assertThat(result.get(0).getStart()).isAfter(date);
+        assertThat(result.get(0).getBookerId()).isEqualTo(3L);
+    }
+
+    @Test
+    void findLastAndNextBookings_emptyResult_statusIsOther() {
+        LocalDateTime date = LocalDateTime.of(2023, 6, 1, 10, 13, 30);
+
+        List<BookingDto> result = bookingRepository
+                .findLastAndNextBookings(List.of(1L, 2L), Status.WAITING, date);
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void findPageByBookerId_pagesWithTieOnStart_orderedByStartAndId() {
+        BookingStateFilter filter = BookingStateFilter.of(State.ALL, LocalDateTime.now());
+        KeysetCursor cursor = KeysetCursor.FIRST;
+
+        List<BookingResponseDto> firstPage = bookingRepository.findPageByBookerId(3L, filter.getStartFrom(),
+                filter.getStartTo(), filter.getEndFrom(), filter.getEndTo(), filter.getStatuses(),
+                cursor.getTimestamp(), cursor.getId(), PageRequest.of(0, 1));
+
+        assertThat(firstPage.size()).isEqualTo(1);
+        assertThat(firstPage.get(0).getId()).isEqualTo(2L);
+
+        cursor = new KeysetCursor(firstPage.get(0).getStart(), firstPage.get(0).getId());
+        List<BookingResponseDto> secondPage = bookingRepository.findPageByBookerId(3L, filter.getStartFrom(),
+                filter.getStartTo(), filter.getEndFrom(), filter.getEndTo(), filter.getStatuses(),
+                cursor.getTimestamp(), cursor.getId(), PageRequest.of(0, 1));
+
+        assertThat(secondPage.size()).isEqualTo(1);
+        assertThat(secondPage.get(0).getId()).isEqualTo(1L);
+    }
+
+    @Test
+    void findPageByOwnerId_notEmptyResult_ownerHasBookedItems() {
+        BookingStateFilter filter = BookingStateFilter.of(State.PAST, LocalDateTime.of(2023, 6, 30, 10, 13, 30));
+        KeysetCursor cursor = KeysetCursor.FIRST;
+
+        List<BookingResponseDto> result = bookingRepository.findPageByOwnerId(1L, filter.getStartFrom(),
+                filter.getStartTo(), filter.getEndFrom(), filter.getEndTo(), filter.getStatuses(),
+                cursor.getTimestamp(), cursor.getId(), PageRequest.of(0, 10));
+
+        assertThat(result.size()).isEqualTo(1);
+        assertThat(result.get(0).getItem().getName()).isEqualTo("Book");
+    }
+
+    @Test
+    void findPageByOwnerId_emptyResult_stateIsWaiting() {
+        BookingStateFilter filter = BookingStateFilter.of(State.WAITING, LocalDateTime.of(2023, 6, 1, 10, 13, 30));
+        KeysetCursor cursor = KeysetCursor.FIRST;
+
+        List<BookingResponseDto> result = bookingRepository.findPageByOwnerId(1L, filter.getStartFrom(),
+                filter.getStartTo(), filter.getEndFrom(), filter.getEndTo(), filter.getStatuses(),
+                cursor.getTimestamp(), cursor.getId(), PageRequest.of(0, 10));
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void streamByOwnerId_notEmptyResult_ownerHasBookedItems() {
+        BookingStateFilter filter = BookingStateFilter.of(State.ALL, LocalDateTime.of(2023, 6, 30, 10, 13, 30));
+
+        List<BookingResponseDto> result;
+        try (Stream<BookingResponseDto> stream = bookingRepository.streamByOwnerId(1L, filter.getStartFrom(),
+                filter.getStartTo(), filter.getEndFrom(), filter.getEndTo(), filter.getStatuses())) {
+            result = stream.collect(Collectors.toList());
+        }
+
+        List<BookingResponseDto> page = bookingRepository.findPageByOwnerId(1L, filter.getStartFrom(),
+                filter.getStartTo(), filter.getEndFrom(), filter.getEndTo(), filter.getStatuses(),
+                KeysetCursor.FIRST.getTimestamp(), KeysetCursor.FIRST.getId(), PageRequest.of(0, 100));
+
+        assertThat(result).isNotEmpty();
+        assertThat(result).extracting(BookingResponseDto::getId)
+                .containsExactlyElementsOf(page.stream().map(BookingResponseDto::getId).collect(Collectors.toList()));
+    }
+
+    @Test
+    void findById_itemAndBookerFetched_bookingExist() {
+        Booking result = bookingRepository.findById(1L).orElseThrow();
+
+        assertThat(Hibernate.isInitialized(result.getItem())).isTrue();
+        assertThat(Hibernate.isInitialized(result.getBooker())).isTrue();
+        assertThat(Hibernate.isInitialized(result.getItem().getOwner())).isFalse();
+    }
 }
@@ -8,8 +8,10 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dto.BookingPageDto;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.exception.ConflictException;
 import ru.practicum.shareit.exception.NoCorrectRequestException;
 import ru.practicum.shareit.exception.NoFoundObjectException;
 import ru.practicum.shareit.exception.NoValidArgumentException;
@@ -18,12 +20,16 @@ import ru.practicum.shareit.item.ItemRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserResponseDto;
+import ru.practicum.shareit.web.KeysetCursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -139,12 +145,31 @@ class BookingServiceImplTest {
         when(itemRepository.findById(anyLong()))
                 .thenReturn(Optional.of(item));
 
-        when(bookingRepository.save(any(Booking.class)))
+        when(bookingRepository.saveAndFlush(any(Booking.class)))
                 .thenReturn(booking);
 
         underTest.createBooking(2L, request);
 
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).saveAndFlush(any(Booking.class));
+    }
+
+    @Test
+    void createBooking_noCorrectRequestException_itemAlreadyBooked() {
+        BookingRequestDto request = BookingRequestDto.builder()
+                .itemId(1L)
+                .start(LocalDateTime.of(2023, 2, 10, 17, 10, 5))
+                .end(LocalDateTime.of(2023, 2, 10, 17, 10, 5).plusDays(15))
+                .build();
+
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+
+        when(bookingRepository.existsByItemIdAndStatusInAndStartIsBeforeAndEndIsAfter(anyLong(), anyCollection(),
+                any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(true);
+
+        assertThrows(NoCorrectRequestException.class, () -> underTest.createBooking(2L, request));
+        verify(bookingRepository, never()).saveAndFlush(any(Booking.class));
     }
 
     @Test
@@ -181,12 +206,13 @@ class BookingServiceImplTest {
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
 
-        when(bookingRepository.save(any(Booking.class)))
-                .thenReturn(booking);
+        when(bookingRepository.updateStatus(anyLong(), any(), any(Status.class), any(Status.class)))
+                .thenReturn(1);
 
         BookingResponseDto bookingResponse = underTest.updateStatusById(1L, approved, 1L);
 
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).updateStatus(1L, null, Status.WAITING, Status.APPROVED);
+        verify(bookingRepository, never()).save(any(Booking.class));
         assertEquals(Status.APPROVED, bookingResponse.getStatus());
     }
 
@@ -198,15 +224,38 @@ class BookingServiceImplTest {
         when(bookingRepository.findById(anyLong()))
                 .thenReturn(Optional.of(booking));
 
-        when(bookingRepository.save(any(Booking.class)))
-                .thenReturn(booking);
+        when(bookingRepository.updateStatus(anyLong(), any(), any(Status.class), any(Status.class)))
+                .thenReturn(1);
 
         BookingResponseDto bookingResponse = underTest.updateStatusById(1L, approved, 1L);
 
-        verify(bookingRepository, times(1)).save(any(Booking.class));
+        verify(bookingRepository, times(1)).updateStatus(1L, null, Status.WAITING, Status.REJECTED);
+        verify(bookingRepository, never()).save(any(Booking.class));
         assertEquals(Status.REJECTED, bookingResponse.getStatus());
     }
 
+    @Test
+    void updateStatusById_conflictException_concurrentModification() {
+        booking.setStatus(Status.WAITING);
+
+        when(bookingRepository.findById(anyLong()))
+                .thenReturn(Optional.of(booking));
+
+        when(bookingRepository.updateStatus(anyLong(), any(), any(Status.class), any(Status.class)))
+                .thenReturn(0);
+
+        assertThrows(ConflictException.class, () -> underTest.updateStatusById(1L, true, 1L));
+        verify(bookingRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void subscribe_noFoundObjectException_userDoNotExist() {
+        doThrow(NoFoundObjectException.class)
+                .when(userService).checkExistUserById(anyLong());
+
+        assertThrows(NoFoundObjectException.class, () -> underTest.subscribe(100L));
+    }
+
     @Test
     void getBookingById_noFoundObjectException_bookingDoNotExist() {
         when(bookingRepository.findById(anyLong()))
@@ -389,15 +438,12 @@ class BookingServiceImplTest {
         when(userService.findUserById(anyLong()))
                 .thenReturn(user);
 
-        when(itemRepository.findAllByOwnerId(anyLong()))
-                .thenReturn(List.of(item));
-
         Pageable pageable = PageRequest.of(page, size, Sort.by("start").descending());
 
         underTest.getAllByOwnerId(1L, state, from, size);
 
         verify(bookingRepository, times(1))
-                .findAllByItemIdIn(List.of(item.getId()), pageable);
+                .findAllByItemOwnerId(user.getId(), pageable);
     }
 
     @Test
@@ -409,14 +455,10 @@ class BookingServiceImplTest {
         when(userService.findUserById(anyLong()))
                 .thenReturn(user);
 
-        when(itemRepository.findAllByOwnerId(anyLong(), any()))
-                .thenReturn(List.of(item));
-
-
         underTest.getAllByOwnerId(1L, state, from, size);
 
         verify(bookingRepository, times(1))
-                .findByItemIdInAndStartIsBeforeAndEndIsAfter(anyList(), any(LocalDateTime.class),
+                .findByItemOwnerIdAndStartIsBeforeAndEndIsAfter(anyLong(), any(LocalDateTime.class),
                         any(LocalDateTime.class), any(Pageable.class));
     }
 
@@ -429,14 +471,10 @@ class BookingServiceImplTest {
         when(userService.findUserById(anyLong()))
                 .thenReturn(user);
 
-        when(itemRepository.findAllByOwnerId(anyLong(), any()))
-                .thenReturn(List.of(item));
-
-
         underTest.getAllByOwnerId(1L, state, from, size);
 
         verify(bookingRepository, times(1))
-                .findByItemIdInAndEndIsBefore(anyList(), any(LocalDateTime.class), any(Pageable.class));
+                .findByItemOwnerIdAndEndIsBefore(anyLong(), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
@@ -448,14 +486,10 @@ class BookingServiceImplTest {
         when(userService.findUserById(anyLong()))
                 .thenReturn(user);
 
-        when(itemRepository.findAllByOwnerId(anyLong(), any()))
-                .thenReturn(List.of(item));
-
-
         underTest.getAllByOwnerId(1L, state, from, size);
 
         verify(bookingRepository, times(1))
-                .findByItemIdInAndStartIsAfter(anyList(), any(LocalDateTime.class), any(Pageable.class));
+                .findByItemOwnerIdAndStartIsAfter(anyLong(), any(LocalDateTime.class), any(Pageable.class));
     }
 
     @Test
@@ -467,14 +501,10 @@ class BookingServiceImplTest {
         when(userService.findUserById(anyLong()))
                 .thenReturn(user);
 
-        when(itemRepository.findAllByOwnerId(anyLong(), any()))
-                .thenReturn(List.of(item));
-
-
         underTest.getAllByOwnerId(1L, state, from, size);
 
         verify(bookingRepository, times(1))
-                .findByItemIdInAndStartIsAfterAndStatusIs(anyList(), any(LocalDateTime.class),
+                .findByItemOwnerIdAndStartIsAfterAndStatusIs(anyLong(), any(LocalDateTime.class),
                         any(Status.class), any(Pageable.class));
     }
 
@@ -487,14 +517,76 @@ class BookingServiceImplTest {
         when(userService.findUserById(anyLong()))
                 .thenReturn(user);
 
-        when(itemRepository.findAllByOwnerId(anyLong(), any()))
-                .thenReturn(List.of(item));
-
-
         underTest.getAllByOwnerId(1L, state, from, size);
 
         verify(bookingRepository, times(1))
-                .findByItemIdInAndStartIsAfterAndStatusIs(anyList(), any(LocalDateTime.class),
+                .findByItemOwnerIdAndStartIsAfterAndStatusIs(anyLong(), any(LocalDateTime.class),
                         any(Status.class), any(Pageable.class));
     }
-}
\ No newline at end of file
+
+    @Test
+    void getPageByBookerId_nextCursorReturned_moreBookingsExist() {
+        Booking other = Booking.builder()
+                .id(2L)
+                .item(item)
+                .start(booking.getStart().minusDays(1))
+                .end(booking.getEnd())
+                .booker(user2)
+                .build();
+
+        when(bookingRepository.findPageByBookerId(anyLong(), any(), any(), any(), any(), any(), any(), anyLong(),
+                any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.objectToDto(booking), BookingMapper.objectToDto(other)));
+
+        BookingPageDto result = underTest.getPageByBookerId(2L, "ALL", null, 1);
+
+        assertEquals(1, result.getBookings().size());
+        assertEquals(booking.getId(), result.getBookings().get(0).getId());
+        assertEquals(new KeysetCursor(booking.getStart(), booking.getId()).encode(), result.getNextCursor());
+        verify(bookingRepository, times(1)).findPageByBookerId(eq(2L), any(), any(), any(), any(), any(),
+                eq(KeysetCursor.FIRST.getTimestamp()), eq(Long.MAX_VALUE), eq(PageRequest.of(0, 2)));
+    }
+
+    @Test
+    void getPageByOwnerId_noNextCursor_lastPage() {
+        KeysetCursor cursor = new KeysetCursor(booking.getStart(), booking.getId());
+
+        when(bookingRepository.findPageByOwnerId(anyLong(), any(), any(), any(), any(), any(), any(), anyLong(),
+                any(Pageable.class)))
+                .thenReturn(List.of(BookingMapper.objectToDto(booking)));
+
+        BookingPageDto result = underTest.getPageByOwnerId(1L, "PAST", cursor.encode(), 10);
+
+        assertEquals(1, result.getBookings().size());
+        assertNull(result.getNextCursor());
+        verify(bookingRepository, times(1)).findPageByOwnerId(eq(1L), any(), any(), any(), any(), any(),
+                eq(booking.getStart()), eq(booking.getId()), any(Pageable.class));
+    }
+
+    @Test
+    void getPageByOwnerId_noValidArgumentException_cursorIsIncorrect() {
+        assertThrows(NoValidArgumentException.class,
+                () -> underTest.getPageByOwnerId(1L, "ALL", "not-a-cursor", 10));
+    }
+
+    @Test
+    void exportByOwnerId_allBookingsPassed_ownerHasBookings() {
+        when(bookingRepository.streamByOwnerId(anyLong(), any(), any(), any(), any(), any()))
+                .thenReturn(Stream.of(BookingMapper.objectToDto(booking)));
+
+        List<BookingResponseDto> result = new ArrayList<>();
+        underTest.exportByOwnerId(1L, "FUTURE", result::add);
+
+        assertEquals(1, result.size());
+        assertEquals(booking.getId(), result.get(0).getId());
+        verify(bookingRepository, times(1)).streamByOwnerId(eq(1L), any(), any(), any(), any(), any());
+    }
+
+    @Test
+    void exportByOwnerId_noCorrectRequestException_stateIsUnknown() {
+        assertThrows(NoCorrectRequestException.class,
+                () -> underTest.exportByOwnerId(1L, "UNKNOWN", booking -> {
+                }));
+        verify(bookingRepository, never()).streamByOwnerId(anyLong(), any(), any(), any(), any(), any());
+    }
+}
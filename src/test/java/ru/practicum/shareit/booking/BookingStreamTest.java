@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static ru.practicum.shareit.event.EventStreams.awaitContent;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BookingStreamTest {
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    BookingService bookingService;
+
+    @Autowired
+    BookingCalendar bookingCalendar;
+
+    @Autowired
+    ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    String userIdHeader = "X-Sharer-User-Id";
+
+    @AfterEach
+    void tearDown() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "bookings", "items", "users");
+        bookingCalendar.rebuild();
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void streamBookings_createdAndApprovedEvents_ownerAndBookerNotified() throws Exception {
+        UserResponseDto owner = userService.createUser(UserRequestDto.builder()
+                .name("Mike").email("mike@mail.ru").build());
+        UserResponseDto booker = userService.createUser(UserRequestDto.builder()
+                .name("Tom").email("tom@mail.ru").build());
+        UserResponseDto stranger = userService.createUser(UserRequestDto.builder()
+                .name("Ann").email("ann@mail.ru").build());
+        ItemResponseDto item = itemService.createItem(ItemRequestDto.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .build(), owner.getId());
+        ItemResponseDto marker = itemService.createItem(ItemRequestDto.builder()
+                .name("Ladder")
+                .description("Folding ladder")
+                .available(true)
+                .build(), owner.getId());
+
+        MvcResult ownerStream = subscribe(owner.getId());
+        MvcResult bookerStream = subscribe(booker.getId());
+        MvcResult strangerStream = subscribe(stranger.getId());
+
+        BookingResponseDto booking = bookingService.createBooking(booker.getId(), BookingRequestDto.builder()
+                .itemId(item.getId())
+                .start(LocalDateTime.now().plusDays(1))
+                .end(LocalDateTime.now().plusDays(2))
+                .build());
+        bookingService.updateStatusById(booking.getId(), true, owner.getId());
+        // the stranger's own booking is queued after the events above, so it arrives after any leaked one
+        bookingService.createBooking(stranger.getId(), BookingRequestDto.builder()
+                .itemId(marker.getId())
+                .start(LocalDateTime.now().plusDays(3))
+                .end(LocalDateTime.now().plusDays(4))
+                .build());
+
+        String ownerEvents = awaitContent(ownerStream, "APPROVED");
+        String bookerEvents = awaitContent(bookerStream, "APPROVED");
+        String strangerEvents = awaitContent(strangerStream, "Ladder");
+
+        assertThat(ownerEvents).contains("event:booking", "WAITING", "APPROVED");
+        assertThat(bookerEvents).contains("event:booking", "WAITING", "APPROVED");
+        assertThat(strangerEvents).contains("event:booking", "Ladder").doesNotContain("Drill");
+    }
+
+    private MvcResult subscribe(Long userId) throws Exception {
+        return mvc.perform(get("/bookings/stream")
+                        .header(userIdHeader, userId))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
@@ -0,0 +1,19 @@
+package ru.practicum.shareit.event;
+
+import org.springframework.test.web.servlet.MvcResult;
+
+/**
+ * Reads of SSE responses opened through MockMvc, which are written to by another thread.
+ */
+public class EventStreams {
+
+    public static String awaitContent(MvcResult result, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5_000;
+        String content = result.getResponse().getContentAsString();
+        while (!content.contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            content = result.getResponse().getContentAsString();
+        }
+        return content;
+    }
+}
@@ -0,0 +1,51 @@
+package ru.practicum.shareit.event;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSubscriberTest {
+    List<Runnable> tasks;
+    EventSubscriber underTest;
+
+    @BeforeEach
+    void prepare() {
+        tasks = new ArrayList<>();
+        underTest = new EventSubscriber(1L, new SseEmitter(), 2, tasks::add);
+    }
+
+    @Test
+    void offer_oneDrainScheduled_severalEventsPending() {
+        underTest.offer(new Event("request", "first"));
+        underTest.offer(new Event("request", "second"));
+
+        assertThat(tasks).hasSize(1);
+        assertThat(underTest.isClosed()).isFalse();
+    }
+
+    @Test
+    void offer_subscriberClosed_bufferOverflow() {
+        underTest.offer(new Event("request", "first"));
+        underTest.offer(new Event("request", "second"));
+        underTest.offer(new Event("request", "third"));
+
+        assertThat(underTest.isClosed()).isTrue();
+    }
+
+    @Test
+    void offer_newDrainScheduled_previousDrainFinished() {
+        underTest.offer(new Event("request", "first"));
+        tasks.remove(0).run();
+
+        underTest.offer(new Event("request", "second"));
+        underTest.offer(new Event("request", "third"));
+
+        assertThat(tasks).hasSize(1);
+        assertThat(underTest.isClosed()).isFalse();
+    }
+}
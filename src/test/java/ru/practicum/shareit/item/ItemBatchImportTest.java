@@ -0,0 +1,140 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.NoFoundObjectException;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
+import ru.practicum.shareit.request.ItemRequest;
+import ru.practicum.shareit.request.ItemRequestRepository;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.datasource.url=jdbc:h2:mem:item-batch-import", "shareit.item.import.batch-size=3",
+                "shareit.item.search-index.enabled=true"})
+@DirtiesContext(classMode = AFTER_EACH_TEST_METHOD)
+class ItemBatchImportTest {
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    ItemRepository itemRepository;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    ItemRequestRepository itemRequestRepository;
+
+    User owner;
+    User other;
+
+    @BeforeEach
+    void prepare() {
+        owner = userRepository.save(User.builder().name("Mike").email("mike@mail.ru").build());
+        other = userRepository.save(User.builder().name("Tom").email("tom@mail.ru").build());
+    }
+
+    @Test
+    void createItems_perItemResults_createsAndUpdatesItems() {
+        ItemRequest request = itemRequestRepository.save(ItemRequest.builder()
+                .description("Need a drill")
+                .requestor(other)
+                .created(LocalDateTime.now())
+                .build());
+        Item ownItem = itemRepository.save(Item.builder()
+                .name("Saw").description("Old saw").available(true).owner(owner).build());
+        Item otherItem = itemRepository.save(Item.builder()
+                .name("Hammer").description("Big hammer").available(true).owner(other).build());
+
+        String body = "[" +
+                "{\"name\":\"Drill\",\"description\":\"Cordless drill\",\"available\":true,\"requestId\":" +
+                request.getId() + "}," +
+                "{\"name\":\"\",\"description\":\"No name\",\"available\":true}," +
+                "{\"id\":" + ownItem.getId() + ",\"description\":\"Sharp saw\"}," +
+                "{\"id\":" + otherItem.getId() + ",\"name\":\"Stolen hammer\"}," +
+                "{\"id\":999,\"name\":\"Ghost\"}," +
+                "{\"name\":\"Ladder\",\"description\":\"Long ladder\",\"available\":false,\"requestId\":999}" +
+                "]";
+
+        List<ItemBatchResultDto> results = new ArrayList<>();
+        itemService.createItems(owner.getId(), stream(body), results::add);
+
+        assertThat(results).extracting(ItemBatchResultDto::getIndex).containsExactly(0, 1, 2, 3, 4, 5);
+        assertThat(results).filteredOn(result -> result.getError() != null)
+                .extracting(ItemBatchResultDto::getIndex)
+                .containsExactly(1, 3, 4);
+        assertThat(results.get(2).getId()).isEqualTo(ownItem.getId());
+        assertThat(itemRepository.findAllByRequestIdIn(Set.of(request.getId())))
+                .extracting(Item::getName)
+                .containsExactly("Drill");
+        assertThat(itemRepository.findById(ownItem.getId()).orElseThrow().getDescription()).isEqualTo("Sharp saw");
+        assertThat(itemRepository.findById(otherItem.getId()).orElseThrow().getName()).isEqualTo("Hammer");
+        assertThat(itemRepository.count()).isEqualTo(4);
+        assertThat(itemService.searchItemByText("ladder", 0, 10)).isEmpty();
+        assertThat(itemService.searchItemByText("cordless", 0, 10)).hasSize(1);
+    }
+
+    @Test
+    void createItems_onlyOffendingRowFails_rowTooLongForColumn() {
+        String body = "[" +
+                "{\"name\":\"Drill\",\"description\":\"Cordless drill\",\"available\":true}," +
+                "{\"name\":\"Saw\",\"description\":\"" + "a".repeat(600) + "\",\"available\":true}," +
+                "{\"name\":\"Ladder\",\"description\":\"Long ladder\",\"available\":true}" +
+                "]";
+
+        List<ItemBatchResultDto> results = importItems(body);
+
+        assertThat(results).extracting(ItemBatchResultDto::getIndex).containsExactly(0, 1, 2);
+        assertThat(results).filteredOn(result -> result.getError() != null)
+                .extracting(ItemBatchResultDto::getIndex)
+                .containsExactly(1);
+        assertThat(results.get(1).getError()).isEqualTo("Item could not be saved");
+        assertThat(itemRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void createItems_errorResultLast_entryIsMalformed() {
+        String body = "[" +
+                "{\"name\":\"Drill\",\"description\":\"Cordless drill\",\"available\":true}," +
+                "{\"name\":\"Saw\",\"description\":";
+
+        List<ItemBatchResultDto> results = importItems(body);
+
+        assertThat(results).extracting(ItemBatchResultDto::getIndex).containsExactly(0, 1);
+        assertThat(results.get(0).getError()).isNull();
+        assertThat(results.get(1).getError()).startsWith("Malformed item");
+        assertThat(itemRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void createItems_noFoundObjectException_ownerNotFound() {
+        assertThrows(NoFoundObjectException.class,
+                () -> itemService.createItems(100L, stream("[]"), result -> {
+                }));
+    }
+
+    private List<ItemBatchResultDto> importItems(String body) {
+        List<ItemBatchResultDto> results = new ArrayList<>();
+        itemService.createItems(owner.getId(), stream(body), results::add);
+        return results;
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
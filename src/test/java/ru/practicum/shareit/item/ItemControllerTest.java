@@ -15,6 +15,8 @@ import ru.practicum.shareit.exception.AccessException;
 import ru.practicum.shareit.exception.NoFoundObjectException;
 import ru.practicum.shareit.item.comment.CommentRequestDto;
 import ru.practicum.shareit.item.comment.CommentResponseDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
+import ru.practicum.shareit.item.dto.ItemBatchResultDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 
@@ -22,9 +24,11 @@ import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import java.io.InputStream;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -189,6 +193,74 @@ class ItemControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.description").value("Good old book"));
     }
 
+    @Test
+    void getAvailability_statusIsOk_itemExist() throws Exception {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        ItemAvailabilityDto availability = ItemAvailabilityDto.builder()
+                .itemId(1L)
+                .start(start)
+                .end(start.plusHours(2))
+                .free(false)
+                .nextFreeStart(start.plusHours(5))
+                .build();
+
+        when(itemService.getAvailability(1L, start, start.plusHours(2)))
+                .thenReturn(availability);
+
+        mvc.perform(MockMvcRequestBuilders.get("/items/1/availability")
+                        .param("start", "2030-01-01T10:00:00")
+                        .param("end", "2030-01-01T12:00:00"))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.free").value(false))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextFreeStart").value("2030-01-01T15:00:00"));
+    }
+
+    @Test
+    void createItems_statusIsOk_resultPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<ItemBatchResultDto> results = invocation.getArgument(2);
+            results.accept(ItemBatchResultDto.builder().index(0).id(1L).name("Book").build());
+            results.accept(ItemBatchResultDto.builder().index(1).error("Name cannot be empty or null").build());
+            return null;
+        }).when(itemService).createItems(eq(1L), any(InputStream.class), any());
+
+        mvc.perform(post("/items/batch")
+                        .header(userIdHeader, 1)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content("[{\"name\":\"Book\",\"description\":\"Good old book\",\"available\":true}," +
+                                "{\"name\":\"\",\"description\":\"No name\",\"available\":true}]"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "{\"index\":0,\"id\":1,\"name\":\"Book\",\"error\":null}\n" +
+                                "{\"index\":1,\"id\":null,\"name\":null," +
+                                "\"error\":\"Name cannot be empty or null\"}\n"));
+    }
+
+    @Test
+    void createItems_statusNotFound_ownerNotFound() throws Exception {
+        doThrow(NoFoundObjectException.class)
+                .when(itemService)
+                .createItems(anyLong(), any(InputStream.class), any());
+
+        mvc.perform(post("/items/batch")
+                        .header(userIdHeader, 100)
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content("[]"))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void getAvailability_statusBadRequest_startIsMissing() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get("/items/1/availability")
+                        .param("end", "2030-01-01T12:00:00"))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
     @Test
     void updateItem_statusNotFound_itemDoesNotFound() throws Exception {
         ItemRequestDto itemRequest = ItemRequestDto.builder()
@@ -9,6 +9,7 @@ import org.springframework.test.context.jdbc.Sql;
 
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -32,6 +33,23 @@ class ItemRepositoryTest {
         assertThat(results.get(0).getOwner().getId()).isEqualTo(1L);
     }
 
+    @Test
+    void findByText_rankedByRelevance_nameMatchesFirst() {
+        List<Item> results = itemRepository.findByText("b", PageRequest.of(0, 20));
+
+        assertThat(results.size()).isEqualTo(2);
+        assertThat(results.get(0).getName()).isEqualTo("Book");
+        assertThat(results.get(1).getName()).isEqualTo("TV box");
+    }
+
+    @Test
+    void findByText_notEmptyList_descriptionMatches() {
+        List<Item> results = itemRepository.findByText("cool", PageRequest.of(0, 20));
+
+        assertThat(results.size()).isEqualTo(1);
+        assertThat(results.get(0).getName()).isEqualTo("TV box");
+    }
+
     @Test
     void findAllByOwnerId_notEmptyList_itemsExist() {
         List<Item> results = itemRepository.findAllByOwnerId(1L, PageRequest.of(0, 20));
@@ -42,21 +60,21 @@ class ItemRepositoryTest {
     }
 
     @Test
-    void findAllByRequestIdIn_notEmptyList_itemsExist() {
-        List<Item> results = itemRepository.findAllByRequestIdIn(Set.of(1L));
+    void findIdsByOwnerId_ownerItemIds_itemsExist() {
+        List<Long> results = itemRepository.findIdsByOwnerId(1L);
 
+        assertThat(results).containsExactlyInAnyOrderElementsOf(itemRepository.findAllByOwnerId(1L,
+                PageRequest.of(0, 20)).stream().map(Item::getId).collect(Collectors.toList()));
         assertFalse(results.isEmpty());
-        assertThat(results.get(0).getName()).isEqualTo("TV box");
-        assertThat(results.get(0).getOwner().getId()).isEqualTo(2L);
     }
 
     @Test
-    void findByRequestId_notEmptyList_itemExist() {
-        Item result = itemRepository.findByRequestId(1L);
+    void findAllByRequestIdIn_notEmptyList_itemsExist() {
+        List<Item> results = itemRepository.findAllByRequestIdIn(Set.of(1L));
 
-        assertNotNull(result);
-        assertThat(result.getName()).isEqualTo("TV box");
-        assertThat(result.getOwner().getId()).isEqualTo(2L);
+        assertFalse(results.isEmpty());
+        assertThat(results.get(0).getName()).isEqualTo("TV box");
+        assertThat(results.get(0).getOwner().getId()).isEqualTo(2L);
     }
 
 }
\ No newline at end of file
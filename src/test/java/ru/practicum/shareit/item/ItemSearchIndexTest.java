@@ -0,0 +1,130 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class ItemSearchIndexTest {
+    ItemRepository itemRepository;
+    ItemSearchIndex underTest;
+
+    Item book;
+    Item tvBox;
+    Item drill;
+
+    @BeforeEach
+    void prepare() {
+        book = Item.builder().id(1L).name("Book").description("Interesting book").available(true).build();
+        tvBox = Item.builder().id(2L).name("TV box").description("cool tv box").available(true).build();
+        drill = Item.builder().id(3L).name("Drill").description("Drill for book shelves").available(false).build();
+
+        itemRepository = mock(ItemRepository.class);
+        when(itemRepository.findByIdGreaterThanOrderById(anyLong(), any()))
+                .thenReturn(List.of(book, tvBox, drill))
+                .thenReturn(List.of());
+
+        underTest = new ItemSearchIndex(itemRepository, true);
+        underTest.rebuild();
+    }
+
+    @Test
+    void search_rankedIds_itemsMatchText() {
+        List<Long> result = underTest.search("bo", PageRequest.of(0, 10));
+
+        assertThat(result).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void search_onlyAvailableItems_unavailableItemMatches() {
+        List<Long> result = underTest.search("shelves", PageRequest.of(0, 10));
+
+        assertThat(result).isEmpty();
+    }
+
+    @Test
+    void removeOwner_itemsNotFound_ownerWasDeleted() {
+        when(itemRepository.findIdsByOwnerId(7L)).thenReturn(List.of(1L));
+
+        underTest.removeOwner(7L);
+
+        assertThat(underTest.search("bo", PageRequest.of(0, 1))).containsExactly(2L);
+    }
+
+    @Test
+    void search_requestedPageOnly_severalItemsMatch() {
+        List<Long> result = underTest.search("box", PageRequest.of(1, 1));
+
+        assertThat(result).isEmpty();
+        assertThat(underTest.search("book", PageRequest.of(0, 1))).containsExactly(1L);
+    }
+
+    @Test
+    void index_updatedItemReindexed_itemChanged() {
+        tvBox.setName("Radio");
+        tvBox.setDescription("old radio");
+        drill.setAvailable(true);
+
+        underTest.index(tvBox);
+        underTest.index(drill);
+
+        assertThat(underTest.search("box", PageRequest.of(0, 10))).isEmpty();
+        assertThat(underTest.search("radio", PageRequest.of(0, 10))).containsExactly(2L);
+        assertThat(underTest.search("shelves", PageRequest.of(0, 10))).containsExactly(3L);
+    }
+
+    @Test
+    void index_indexUnchanged_transactionRolledBack() {
+        tvBox.setName("Radio");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            underTest.index(tvBox);
+            assertThat(underTest.search("radio", PageRequest.of(0, 10))).isEmpty();
+
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(synchronization -> synchronization.afterCompletion(
+                            TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(underTest.search("radio", PageRequest.of(0, 10))).isEmpty();
+        assertThat(underTest.search("box", PageRequest.of(0, 10))).containsExactly(2L);
+    }
+
+    @Test
+    void index_itemReindexed_transactionCommitted() {
+        tvBox.setName("Radio");
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            underTest.index(tvBox);
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(underTest.search("radio", PageRequest.of(0, 10))).containsExactly(2L);
+    }
+
+    @Test
+    void rebuild_nothingIndexed_indexDisabled() {
+        ItemSearchIndex disabled = new ItemSearchIndex(itemRepository, false);
+
+        disabled.rebuild();
+        disabled.index(book);
+
+        verify(itemRepository, times(2)).findByIdGreaterThanOrderById(anyLong(), any());
+        assertThat(disabled.search("book", PageRequest.of(0, 10))).isEmpty();
+    }
+}
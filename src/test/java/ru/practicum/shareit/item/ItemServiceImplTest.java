@@ -9,6 +9,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import ru.practicum.shareit.booking.Booking;
+import ru.practicum.shareit.booking.BookingCalendar;
 import ru.practicum.shareit.booking.BookingRepository;
 import ru.practicum.shareit.booking.Status;
 import ru.practicum.shareit.booking.dto.BookingDto;
@@ -20,14 +21,17 @@ import ru.practicum.shareit.item.comment.Comment;
 import ru.practicum.shareit.item.comment.CommentMapper;
 import ru.practicum.shareit.item.comment.CommentRequestDto;
 import ru.practicum.shareit.item.comment.CommentService;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.request.ItemRequestRepository;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 
@@ -56,6 +60,12 @@ class ItemServiceImplTest {
     @MockBean
     ItemRequestRepository itemRequestRepository;
 
+    @MockBean
+    BookingCalendar bookingCalendar;
+
+    @Autowired
+    ItemDetailsCache itemDetailsCache;
+
     User user1;
     User user2;
     User user3;
@@ -69,6 +79,8 @@ class ItemServiceImplTest {
 
     @BeforeEach
     void prepare() {
+        itemDetailsCache.invalidateAll();
+
         user1 = User.builder().id(1L).name("Tom").email("tom@mail.ru").build();
         user2 = User.builder().id(2L).name("Mike").email("mike@mail.ru").build();
         user3 = User.builder().id(3L).name("Sam").email("sam@mail.ru").build();
@@ -78,7 +90,12 @@ class ItemServiceImplTest {
                 .name("Book")
                 .description("Good old book")
                 .owner(user1)
-                .request(new ru.practicum.shareit.request.ItemRequest(10L, "I need book", user2, LocalDateTime.now()))
+                .request(ru.practicum.shareit.request.ItemRequest.builder()
+                        .id(10L)
+                        .description("I need book")
+                        .requestor(user2)
+                        .created(LocalDateTime.now())
+                        .build())
                 .available(true)
                 .build();
 
@@ -200,6 +217,52 @@ class ItemServiceImplTest {
         assertEquals(10L, result.getRequestId());
     }
 
+    @Test
+    void getAvailability_noValidArgumentException_startIsNotBeforeEnd() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+        assertThrows(NoValidArgumentException.class, () -> underTest.getAvailability(1L, start, start));
+        verify(itemRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getAvailability_notFoundObjectException_itemDoesNotExist() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(NoFoundObjectException.class, () -> underTest.getAvailability(1L, start, start.plusHours(1)));
+    }
+
+    @Test
+    void getAvailability_notFree_itemIsNotAvailable() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        item.setAvailable(false);
+
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+
+        ItemAvailabilityDto result = underTest.getAvailability(1L, start, start.plusHours(1));
+
+        assertFalse(result.getFree());
+        assertNull(result.getNextFreeStart());
+        verifyNoInteractions(bookingCalendar);
+    }
+
+    @Test
+    void getAvailability_calendarAnswer_itemIsAvailable() {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        LocalDateTime end = start.plusHours(2);
+
+        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(bookingCalendar.isFree(1L, start, end)).thenReturn(false);
+        when(bookingCalendar.nextFreeSlot(1L, start, Duration.ofHours(2))).thenReturn(start.plusHours(5));
+
+        ItemAvailabilityDto result = underTest.getAvailability(1L, start, end);
+
+        assertFalse(result.getFree());
+        assertEquals(start.plusHours(5), result.getNextFreeStart());
+    }
+
     @Test
     void getItemById_notFoundObjectException_itemDoesNotExist() {
         Long userId = 1L;
@@ -261,6 +324,68 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).findById(anyLong());
     }
 
+    @Test
+    void getItemById_servedFromCache_secondViewByNotOwner() {
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+
+        when(commentService.getAllCommentsByItemId(anyLong()))
+                .thenReturn(CommentMapper.objectsToDto(List.of(comment)));
+
+        ItemResponseDto first = underTest.getItemById(1L, 2L);
+        ItemResponseDto second = underTest.getItemById(1L, 3L);
+
+        assertNotSame(first, second);
+        assertEquals(first.getName(), second.getName());
+        verify(itemRepository, times(1)).findById(anyLong());
+        verify(commentService, times(1)).getAllCommentsByItemId(anyLong());
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void getItemById_ownerViewKeyedSeparately_ownerAndNotOwnerView() {
+        Page<BookingDto> last = new PageImpl<>(List.of(bookingDtoUser2), PageRequest.of(0, 1), 1);
+        Page<BookingDto> next = new PageImpl<>(List.of(bookingDtoUser3), PageRequest.of(0, 1), 1);
+
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+
+        when(bookingRepository.findNextBooking(anyLong(), anyLong(),
+                any(Status.class), any(LocalDateTime.class), any(PageRequest.class)))
+                .thenReturn(next);
+
+        when(bookingRepository.findLastBooking(anyLong(), anyLong(),
+                any(Status.class), any(LocalDateTime.class), any(PageRequest.class)))
+                .thenReturn(last);
+
+        ItemResponseDto publicView = underTest.getItemById(1L, 2L);
+        ItemResponseDto ownerView = underTest.getItemById(1L, 1L);
+
+        assertNull(publicView.getNextBooking());
+        assertEquals(3L, ownerView.getNextBooking().getId());
+        assertEquals(3L, underTest.getItemById(1L, 1L).getNextBooking().getId());
+        assertNull(underTest.getItemById(1L, 2L).getNextBooking());
+        verify(itemRepository, times(2)).findById(anyLong());
+    }
+
+    @Test
+    void getItemById_reloaded_itemWasUpdated() {
+        ItemRequestDto request = ItemRequestDto.builder().name("Update title Book").build();
+
+        when(itemRepository.findById(anyLong()))
+                .thenReturn(Optional.of(item));
+
+        when(itemRepository.save(any(Item.class)))
+                .thenReturn(item);
+
+        underTest.getItemById(1L, 2L);
+        underTest.updateItemById(request, 1L, 1L);
+        ItemResponseDto result = underTest.getItemById(1L, 2L);
+
+        assertEquals("Update title Book", result.getName());
+        verify(itemRepository, times(3)).findById(anyLong());
+    }
+
     @Test
     void updateItemById_notFoundObjectException_itemNotExist() {
         Long userId = 1L;
@@ -354,6 +479,39 @@ class ItemServiceImplTest {
         assertThrows(NoFoundObjectException.class, () -> underTest.getAllItemsByUserId(userId, from, size));
     }
 
+    @Test
+    void getAllItemsByUserId_itemsWithBookings_bookingsLoadedInOneQuery() {
+        Long userId = 1L;
+        Item otherItem = Item.builder()
+                .id(2L)
+                .name("Pen")
+                .description("Blue pen")
+                .owner(user1)
+                .available(true)
+                .build();
+        bookingDtoUser2.setItemId(1L);
+        bookingDtoUser3.setItemId(1L);
+
+        when(itemRepository.findAllByOwnerId(anyLong(), any()))
+                .thenReturn(List.of(item, otherItem));
+
+        when(bookingRepository.findLastAndNextBookings(any(), any(Status.class), any(LocalDateTime.class)))
+                .thenReturn(List.of(bookingDtoUser2, bookingDtoUser3));
+
+        List<ItemResponseDto> result = underTest.getAllItemsByUserId(userId, 0, 10);
+
+        verify(bookingRepository, times(1))
+                .findLastAndNextBookings(any(), any(Status.class), any(LocalDateTime.class));
+        verify(bookingRepository, never()).findNextBooking(anyLong(), anyLong(), any(), any(), any());
+        verify(bookingRepository, never()).findLastBooking(anyLong(), anyLong(), any(), any(), any());
+
+        assertEquals(2, result.size());
+        assertEquals(bookingDtoUser2.getId(), result.get(0).getLastBooking().getId());
+        assertEquals(bookingDtoUser3.getId(), result.get(0).getNextBooking().getId());
+        assertNull(result.get(1).getLastBooking());
+        assertNull(result.get(1).getNextBooking());
+    }
+
     @Test
     void searchItemByText_notEmptyList_itemExist() {
         Integer from = 0;
@@ -364,12 +522,17 @@ class ItemServiceImplTest {
         when(itemRepository.findByText(anyString(), any()))
                 .thenReturn(List.of(item));
 
+        when(commentService.getAllCommentsByItemIds(any()))
+                .thenReturn(Map.of(1L, CommentMapper.objectsToDto(List.of(comment))));
+
         List<ItemResponseDto> result = underTest.searchItemByText(text, from, size);
 
 
         verify(itemRepository, times(1)).findByText(anyString(), any());
+        verify(commentService, times(1)).getAllCommentsByItemIds(any());
 
         assertFalse(result.isEmpty());
+        assertEquals(1, result.get(0).getComments().size());
     }
 
     @Test
@@ -476,10 +639,4 @@ class ItemServiceImplTest {
         verify(itemRepository, times(1)).findAllByRequestIdIn(any());
     }
 
-    @Test
-    void getItemByRequestId_nullResult_requestDontExist() {
-        underTest.getItemByRequestId(11L);
-
-        verify(itemRepository, times(1)).findByRequestId(anyLong());
-    }
 }
\ No newline at end of file
@@ -76,6 +76,31 @@ class ItemServiceIntegrationTest {
         assertThat(result.getDescription()).isEqualTo(item.getDescription());
     }
 
+    @Test
+    void getItemById_noFoundObjectException_ownerWasDeleted() {
+        UserResponseDto savedUser = userService.createUser(createUserRequestDto());
+        ItemResponseDto savedItem = itemService.createItem(createItemRequestDto("Test name", true, null),
+                savedUser.getId());
+        itemService.getItemById(savedItem.getId(), 1_000L);
+
+        userService.deleteUserById(savedUser.getId());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThrows(NoFoundObjectException.class, () -> itemService.getItemById(savedItem.getId(), 1_000L));
+    }
+
+    @Test
+    void getItemById_cachedItemUnchanged_resultModified() {
+        UserResponseDto savedUser = userService.createUser(createUserRequestDto());
+        ItemResponseDto savedItem = itemService.createItem(createItemRequestDto("Test name", true, null),
+                savedUser.getId());
+
+        itemService.getItemById(savedItem.getId(), 1_000L).setName("Changed name");
+
+        assertThat(itemService.getItemById(savedItem.getId(), 1_000L).getName()).isEqualTo("Test name");
+    }
+
     @Test
     void getAllItemsByUserId_emptyListItems_itemsDoNotExist() {
         UserRequestDto user = createUserRequestDto();
@@ -222,43 +247,6 @@ class ItemServiceIntegrationTest {
         assertThat(result.get(0).getRequest().getId()).isEqualTo(savedItem.getRequestId());
     }
 
-    @Test
-    void getItemByRequestId_emptyListItems_itemsExist() {
-        Long requestId = 1L;
-
-        ItemRequestDto item = createItemRequestDto("Test name", true, null);
-        UserRequestDto user = createUserRequestDto();
-
-        UserResponseDto savedUser = userService.createUser(user);
-        ItemResponseDto savedItem = itemService.createItem(item, savedUser.getId());
-
-        Item result = itemService.getItemByRequestId(requestId);
-
-        assertThat(result).isNull();
-    }
-
-    @Test
-    void getItemByRequestId_notEmptyListItems_itemsExist() {
-        UserRequestDto user = createUserRequestDto();
-        UserResponseDto savedUser = userService.createUser(user);
-
-        RequestDto request = RequestDto.builder()
-                .created(LocalDateTime.now())
-                .requestorId(1L)
-                .description("need some item")
-                .build();
-        RequestDto savedRequest = itemRequestService.createRequest(request, savedUser.getId());
-
-        ItemRequestDto item = createItemRequestDto("Test name", true, savedRequest.getId());
-        ItemResponseDto savedItem = itemService.createItem(item, savedUser.getId());
-
-        Item result = itemService.getItemByRequestId(savedRequest.getId());
-
-        assertThat(result).isNotNull();
-        assertThat(result.getName()).isEqualTo(savedItem.getName());
-        assertThat(result.getRequest().getId()).isEqualTo(savedRequest.getId());
-    }
-
     @Test
     void updateItemById_updatedItem_itemExist() {
         ItemRequestDto item = createItemRequestDto("Test name", true, null);
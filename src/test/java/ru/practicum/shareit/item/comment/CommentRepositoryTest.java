@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.comment;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -28,4 +29,28 @@ class CommentRepositoryTest {
         assertThat(results.get(0).getText()).isEqualTo("super interesting good book");
         assertThat(results.get(0).getAuthor().getId()).isEqualTo(3L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findAllByItemIdIn_notEmptyResultList_commentsExist() {
+        List<Comment> results = commentRepository.findAllByItemIdIn(List.of(1L, 2L));
+
+        assertThat(results.size()).isEqualTo(1);
+        assertThat(results.get(0).getItem().getId()).isEqualTo(1L);
+        assertThat(results.get(0).getAuthor().getName()).isEqualTo("Sam");
+    }
+
+    @Test
+    void findAllByItemIdIn_emptyResultList_commentsDoNotExist() {
+        List<Comment> results = commentRepository.findAllByItemIdIn(List.of(2L));
+
+        assertThat(results).isEmpty();
+    }
+
+    @Test
+    void findAllByItemId_authorFetchedAndItemLazy_commentsExist() {
+        List<Comment> results = commentRepository.findAllByItemId(1L);
+
+        assertThat(Hibernate.isInitialized(results.get(0).getAuthor())).isTrue();
+        assertThat(Hibernate.isInitialized(results.get(0).getItem())).isFalse();
+    }
+}
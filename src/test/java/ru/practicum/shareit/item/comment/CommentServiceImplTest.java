@@ -11,6 +11,8 @@ import ru.practicum.shareit.user.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -90,4 +92,25 @@ class CommentServiceImplTest {
         verify(commentRepository, times(1)).findAllByItemId(anyLong());
         assertTrue(result.isEmpty());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllCommentsByItemIds_groupedByItem_commentsExist() {
+        when(commentRepository.findAllByItemIdIn(any()))
+                .thenReturn(List.of(comment));
+
+        Map<Long, List<CommentResponseDto>> result = underTest.getAllCommentsByItemIds(Set.of(1L, 2L));
+
+        verify(commentRepository, times(1)).findAllByItemIdIn(any());
+        assertEquals(1, result.size());
+        assertEquals(comment.getText(), result.get(1L).get(0).getText());
+        assertFalse(result.containsKey(2L));
+    }
+
+    @Test
+    void getAllCommentsByItemIds_emptyMap_idsAreEmpty() {
+        Map<Long, List<CommentResponseDto>> result = underTest.getAllCommentsByItemIds(Set.of());
+
+        verify(commentRepository, never()).findAllByItemIdIn(any());
+        assertTrue(result.isEmpty());
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.monitoring;
+
+import org.springframework.test.web.servlet.ResultMatcher;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+/**
+ * MockMvc matcher asserting how many SQL statements an endpoint issued.
+ */
+public class SqlStatementCount {
+
+    public static ResultMatcher sqlStatements(int expected) {
+        return MockMvcResultMatchers.header()
+                .string(SqlStatementCountHeaderAdvice.HEADER, String.valueOf(expected));
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.monitoring;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
+import static ru.practicum.shareit.monitoring.SqlStatementCount.sqlStatements;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:sql-statement-count")
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = AFTER_EACH_TEST_METHOD)
+@Sql("classpath:repository/data.sql")
+class SqlStatementCountTest {
+    @Autowired
+    MockMvc mvc;
+
+    String userIdHeader = "X-Sharer-User-Id";
+
+    @Test
+    void getUser_oneStatement() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get("/users/1"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(sqlStatements(1));
+    }
+
+    @Test
+    void getAllItemsByUserId_constantStatements() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get("/items")
+                        .header(userIdHeader, 1))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(sqlStatements(4));
+    }
+
+    @Test
+    void getAllBookingsBooker_constantStatements() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get("/bookings")
+                        .header(userIdHeader, 3))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(sqlStatements(2));
+    }
+
+    @Test
+    void getOwnerRequestsByUser_constantStatements() throws Exception {
+        mvc.perform(MockMvcRequestBuilders.get("/requests")
+                        .header(userIdHeader, 3))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(sqlStatements(3));
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.monitoring.SqlStatementCounter;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.user.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.datasource.url=jdbc:h2:mem:sequence-allocation", "shareit.id.allocation-size=50"})
+@DirtiesContext
+class SequenceAllocationTest {
+    @Autowired
+    UserRepository userRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    void sequences_incrementMatchesAllocationSize() {
+        List<Long> increments = jdbcTemplate.queryForList(
+                "SELECT INCREMENT FROM INFORMATION_SCHEMA.SEQUENCES WHERE LOWER(SEQUENCE_NAME) LIKE '%_seq'",
+                Long.class);
+
+        assertThat(increments).hasSize(SequenceIncrementInitializer.SEQUENCES.size()).containsOnly(50L);
+    }
+
+    @Test
+    void saveAll_idsDrawnInBlocksAndInsertsBatched_manyUsers() {
+        List<User> users = IntStream.range(0, 120)
+                .mapToObj(i -> User.builder().name("user" + i).email("user" + i + "@mail.ru").build())
+                .collect(Collectors.toList());
+
+        SqlStatementCounter.start();
+        try {
+            transactionTemplate.executeWithoutResult(status -> userRepository.saveAll(users));
+
+            assertThat(SqlStatementCounter.get()).isLessThan(10);
+        } finally {
+            SqlStatementCounter.stop();
+        }
+        assertThat(users).extracting(User::getId).doesNotHaveDuplicates().doesNotContainNull();
+        assertThat(userRepository.count()).isEqualTo(120);
+    }
+}
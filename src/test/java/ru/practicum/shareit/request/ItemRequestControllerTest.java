@@ -10,10 +10,12 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import ru.practicum.shareit.exception.NoFoundObjectException;
 import ru.practicum.shareit.exception.NoValidArgumentException;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.dto.RequestPageDto;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
@@ -114,8 +116,8 @@ class ItemRequestControllerTest {
 
     @Test
     void getOwnerRequestsByUser_statusOk_requestsDoNotExist() throws Exception {
-        when(itemRequestService.getOwnerRequestByUserId(anyLong()))
-                .thenReturn(List.of());
+        when(itemRequestService.getOwnerRequestByUserId(anyLong(), any(), anyInt()))
+                .thenReturn(new RequestPageDto(List.of(), null));
 
         mvc.perform(get("/requests")
                         .header(userIdHeader, 1))
@@ -129,7 +131,7 @@ class ItemRequestControllerTest {
     void getOwnerRequestsByUser_statusNotFound_userDoesNotExist() throws Exception {
         doThrow(NoFoundObjectException.class)
                 .when(itemRequestService)
-                .getOwnerRequestByUserId(anyLong());
+                .getOwnerRequestByUserId(anyLong(), any(), anyInt());
 
         mvc.perform(get("/requests")
                         .header(userIdHeader, 1))
@@ -155,13 +157,15 @@ class ItemRequestControllerTest {
                 .items(List.of(itemDto))
                 .build();
 
-        when(itemRequestService.getOwnerRequestByUserId(anyLong()))
-                .thenReturn(List.of(response));
+        when(itemRequestService.getOwnerRequestByUserId(anyLong(), any(), anyInt()))
+                .thenReturn(new RequestPageDto(List.of(response), "next"));
 
         mvc.perform(get("/requests")
-                        .header(userIdHeader, 1))
+                        .header(userIdHeader, 1)
+                        .param("size", "1"))
                 .andDo(print())
                 .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("X-Next-Cursor", "next"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].description").value("I need a book"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].items[0].name").value("Book"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].requestorId").value(1L));
@@ -223,6 +227,51 @@ class ItemRequestControllerTest {
                 .andExpect(MockMvcResultMatchers.status().isBadRequest());
     }
 
+    @Test
+    void getAllRequestOtherUsers_statusOkWithNextCursorHeader_cursorGiven() throws Exception {
+        RequestDto response = RequestDto.builder()
+                .id(5L)
+                .description("I need a book")
+                .requestorId(2L)
+                .created(LocalDateTime.now())
+                .items(List.of())
+                .build();
+
+        when(itemRequestService.getRequestPageOtherUsers(anyLong(), any(), anyInt()))
+                .thenReturn(new RequestPageDto(List.of(response), "next"));
+
+        mvc.perform(get("/requests/all")
+                        .header(userIdHeader, 1)
+                        .param("cursor", "")
+                        .param("size", "1"))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string("X-Next-Cursor", "next"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").value(5L));
+    }
+
+    @Test
+    void streamRequests_asyncStarted_userExist() throws Exception {
+        when(itemRequestService.subscribe(anyLong()))
+                .thenReturn(new SseEmitter());
+
+        mvc.perform(get("/requests/stream")
+                        .header(userIdHeader, 1))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted());
+    }
+
+    @Test
+    void streamRequests_statusNotFound_userDoesNotExist() throws Exception {
+        doThrow(NoFoundObjectException.class)
+                .when(itemRequestService)
+                .subscribe(anyLong());
+
+        mvc.perform(get("/requests/stream")
+                        .header(userIdHeader, 100))
+                .andDo(print())
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
     @Test
     void getAllRequestOtherUsers_statusOkAndEmptyList_requestsDesNotExist() throws Exception {
         when(itemRequestService.getRequestsOtherUsers(anyLong(), anyInt(), anyInt()))
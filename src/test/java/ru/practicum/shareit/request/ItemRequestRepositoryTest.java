@@ -1,5 +1,6 @@
 package ru.practicum.shareit.request;
 
+import org.hibernate.Hibernate;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
@@ -8,6 +9,8 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.jdbc.Sql;
+import ru.practicum.shareit.item.Item;
+import ru.practicum.shareit.web.KeysetCursor;
 
 import java.util.List;
 
@@ -33,10 +36,33 @@ class ItemRequestRepositoryTest {
     }
 
     @Test
-    void findAllByRequestorId_notEmptyList_itemRequestExist() {
-        List<ItemRequest> results = itemRequestRepository.findAllByRequestorId(3L);
+    void findPageByRequestorId_pageAfterCursor_requestsExist() {
+        KeysetCursor first = KeysetCursor.FIRST;
 
-        assertFalse(results.isEmpty());
-        assertThat(results.get(0).getDescription()).isEqualTo("i need tv box");
+        List<ItemRequest> firstPage = itemRequestRepository.findPageByRequestorId(3L, first.getTimestamp(),
+                first.getId(), PageRequest.of(0, 10));
+
+        assertThat(firstPage).extracting(ItemRequest::getDescription).containsExactly("i need tv box");
+
+        ItemRequest last = firstPage.get(0);
+        List<ItemRequest> nextPage = itemRequestRepository.findPageByRequestorId(3L, last.getCreated(),
+                last.getId(), PageRequest.of(0, 10));
+
+        assertThat(nextPage).isEmpty();
+    }
+
+    @Test
+    void findWithItemsById_itemsFetched_requestHasItems() {
+        ItemRequest result = itemRequestRepository.findWithItemsById(1L).orElseThrow();
+
+        assertThat(Hibernate.isInitialized(result.getItems())).isTrue();
+        assertThat(result.getItems()).extracting(Item::getName).containsExactly("TV box");
+    }
+
+    @Test
+    void findWithItemsById_emptyItems_requestHasNoItems() {
+        ItemRequest result = itemRequestRepository.findWithItemsById(2L).orElseThrow();
+
+        assertThat(result.getItems()).isEmpty();
     }
-}
\ No newline at end of file
+}
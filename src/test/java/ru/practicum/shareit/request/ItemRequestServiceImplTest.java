@@ -5,21 +5,28 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exception.NoFoundObjectException;
 import ru.practicum.shareit.exception.NoValidArgumentException;
 import ru.practicum.shareit.item.Item;
 import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.request.dto.RequestPageDto;
 import ru.practicum.shareit.user.User;
 import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.web.KeysetCursor;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
@@ -38,6 +45,9 @@ class ItemRequestServiceImplTest {
     @MockBean
     UserService userService;
 
+    @MockBean
+    RequestFeed requestFeed;
+
     User user;
     User user2;
     ItemRequest itemRequest;
@@ -60,6 +70,7 @@ class ItemRequestServiceImplTest {
                 .available(true)
                 .request(itemRequest)
                 .build();
+        itemRequest.setItems(List.of(item));
     }
 
     @Test
@@ -68,18 +79,47 @@ class ItemRequestServiceImplTest {
                 .when(userService)
                 .checkExistUserById(anyLong());
 
-        when(itemRequestRepository.findById(anyLong()))
+        when(itemRequestRepository.findWithItemsById(anyLong()))
                 .thenReturn(Optional.ofNullable(itemRequest));
 
-        when(itemService.getItemByRequestId(anyLong()))
-                .thenReturn(item);
-
         RequestDto result = underTest.getRequestById(1L, 1L);
 
-        verify(itemRequestRepository, times(1)).findById(anyLong());
+        verify(itemRequestRepository, times(1)).findWithItemsById(anyLong());
 
         assertNotNull(result);
         assertThat(result.getDescription()).isEqualTo("I need interesting book");
+        assertThat(result.getItems()).extracting(ItemDto::getId).containsExactly(1L);
+    }
+
+    @Test
+    void getRequestById_emptyItems_requestHasNoItems() {
+        itemRequest.setItems(List.of());
+
+        when(itemRequestRepository.findWithItemsById(anyLong()))
+                .thenReturn(Optional.of(itemRequest));
+
+        RequestDto result = underTest.getRequestById(1L, 10L);
+
+        assertThat(result.getItems()).isEmpty();
+    }
+
+    @Test
+    void getRequestById_allItems_requestHasSeveralItems() {
+        Item secondItem = Item.builder().id(2L)
+                .name("Another book")
+                .description("Newer book")
+                .owner(user)
+                .available(true)
+                .request(itemRequest)
+                .build();
+        itemRequest.setItems(List.of(item, secondItem));
+
+        when(itemRequestRepository.findWithItemsById(anyLong()))
+                .thenReturn(Optional.of(itemRequest));
+
+        RequestDto result = underTest.getRequestById(1L, 10L);
+
+        assertThat(result.getItems()).extracting(ItemDto::getId).containsExactly(1L, 2L);
     }
 
     @Test
@@ -88,8 +128,8 @@ class ItemRequestServiceImplTest {
                 .when(userService)
                 .checkExistUserById(anyLong());
 
-        doThrow(NoFoundObjectException.class)
-                .when(itemRequestRepository).findById(anyLong());
+        when(itemRequestRepository.findWithItemsById(anyLong()))
+                .thenReturn(Optional.empty());
 
         assertThrows(NoFoundObjectException.class, () -> underTest.getRequestById(100L, 1L));
     }
@@ -122,12 +162,45 @@ class ItemRequestServiceImplTest {
                 .when(userService)
                 .checkExistUserById(anyLong());
 
+        when(itemRequestRepository.findPageByRequestorId(anyLong(), any(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(itemRequest));
+
+        when(itemService.getAllByRequestIds(any()))
+                .thenReturn(List.of(item));
+
+        RequestPageDto result = underTest.getOwnerRequestByUserId(1L, null, 10);
+
+        verify(itemRequestRepository, times(1)).findPageByRequestorId(eq(1L),
+                eq(KeysetCursor.FIRST.getTimestamp()), eq(Long.MAX_VALUE), eq(PageRequest.of(0, 11)));
+        assertThat(result.getRequests()).hasSize(1);
+        assertThat(result.getRequests().get(0).getItems()).extracting(ItemDto::getId).containsExactly(1L);
+        assertNull(result.getNextCursor());
+    }
+
+    @Test
+    void getOwnerRequestByUserId_nextCursor_morePagesExist() {
+        ItemRequest olderRequest = ItemRequest.builder().id(9L)
+                .created(itemRequest.getCreated().minusDays(1))
+                .description("I need a lamp")
+                .requestor(user2)
+                .build();
+
+        when(itemRequestRepository.findPageByRequestorId(anyLong(), any(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(itemRequest, olderRequest));
+
         when(itemService.getAllByRequestIds(any()))
-                .thenReturn(anyList());
+                .thenReturn(List.of());
 
-        underTest.getOwnerRequestByUserId(1L);
+        RequestPageDto result = underTest.getOwnerRequestByUserId(2L, null, 1);
 
-        verify(itemRequestRepository, times(1)).findAllByRequestorId(anyLong());
+        assertThat(result.getRequests()).extracting(RequestDto::getId).containsExactly(10L);
+        assertThat(result.getNextCursor()).isEqualTo(new KeysetCursor(itemRequest.getCreated(), 10L).encode());
+    }
+
+    @Test
+    void getOwnerRequestByUserId_noValidArgumentException_cursorIsIncorrect() {
+        assertThrows(NoValidArgumentException.class,
+                () -> underTest.getOwnerRequestByUserId(1L, "not-a-cursor", 10));
     }
 
     @Test
@@ -135,7 +208,7 @@ class ItemRequestServiceImplTest {
         doThrow(NoFoundObjectException.class)
                 .when(userService).checkExistUserById(anyLong());
 
-        assertThrows(NoFoundObjectException.class, () -> underTest.getOwnerRequestByUserId(anyLong()));
+        assertThrows(NoFoundObjectException.class, () -> underTest.getOwnerRequestByUserId(1L, null, 10));
     }
 
     @Test
@@ -144,15 +217,12 @@ class ItemRequestServiceImplTest {
                 .when(userService)
                 .checkExistUserById(anyLong());
 
-        when(itemRequestRepository.findById(anyLong()))
+        when(itemRequestRepository.findWithItemsById(anyLong()))
                 .thenReturn(Optional.of(itemRequest));
 
-        when(itemService.getItemByRequestId(anyLong()))
-                .thenReturn(item);
-
         underTest.getRequestById(2L, 10L);
 
-        verify(itemRequestRepository, times(1)).findById(anyLong());
+        verify(itemRequestRepository, times(1)).findWithItemsById(anyLong());
     }
 
     @Test
@@ -180,14 +250,69 @@ class ItemRequestServiceImplTest {
         when(itemRequestRepository.findAllByOwnerId(anyLong(), any(Pageable.class)))
                 .thenReturn(List.of(itemRequest));
 
-        when(itemService.getItemByRequestId(anyLong()))
-                .thenReturn(item);
-
         underTest.getRequestsOtherUsers(2L, 0, 10);
 
         verify(itemRequestRepository, times(1)).findAllByOwnerId(anyLong(), any(Pageable.class));
     }
 
+    @Test
+    void getRequestsOtherUsers_sqlOrderPreserved_requestsHaveItems() {
+        List<ItemRequest> requests = new ArrayList<>();
+        List<Item> items = new ArrayList<>();
+        for (long id = 40; id > 0; id--) {
+            ItemRequest request = ItemRequest.builder().id(id)
+                    .created(itemRequest.getCreated().plusMinutes(id))
+                    .description("request " + id)
+                    .requestor(user2)
+                    .build();
+            requests.add(request);
+            items.add(Item.builder().id(id * 10).name("item " + id).owner(user).available(true)
+                    .request(request).build());
+            items.add(Item.builder().id(id * 10 + 1).name("item " + id).owner(user).available(true)
+                    .request(request).build());
+        }
+
+        when(itemRequestRepository.findAllByOwnerId(anyLong(), any(Pageable.class)))
+                .thenReturn(requests);
+
+        when(itemService.getAllByRequestIds(any()))
+                .thenReturn(items);
+
+        List<RequestDto> result = underTest.getRequestsOtherUsers(1L, 0, 40);
+
+        assertThat(result).extracting(RequestDto::getId)
+                .containsExactlyElementsOf(requests.stream().map(ItemRequest::getId).collect(Collectors.toList()));
+        assertThat(result).allSatisfy(request -> assertThat(request.getItems()).extracting(ItemDto::getId)
+                .containsExactly(request.getId() * 10, request.getId() * 10 + 1));
+    }
+
+    @Test
+    void getRequestsOtherUsers_servedFromFeed_pageInsideFeed() {
+        when(requestFeed.find(1L, 10, 10))
+                .thenReturn(Optional.of(List.of(itemRequest)));
+
+        List<RequestDto> result = underTest.getRequestsOtherUsers(1L, 10, 10);
+
+        assertThat(result).extracting(RequestDto::getId).containsExactly(10L);
+        verify(itemRequestRepository, never()).findAllByOwnerId(anyLong(), any(Pageable.class));
+    }
+
+    @Test
+    void getRequestPageOtherUsers_databaseFallback_pageOutsideFeed() {
+        KeysetCursor cursor = new KeysetCursor(itemRequest.getCreated().plusDays(1), 20L);
+
+        when(itemRequestRepository.findPageByOtherRequestors(anyLong(), any(), anyLong(), any(Pageable.class)))
+                .thenReturn(List.of(itemRequest));
+
+        RequestPageDto result = underTest.getRequestPageOtherUsers(1L, cursor.encode(), 10);
+
+        assertThat(result.getRequests()).extracting(RequestDto::getId).containsExactly(10L);
+        assertNull(result.getNextCursor());
+        verify(requestFeed, times(1)).findAfter(eq(1L), any(KeysetCursor.class), eq(11));
+        verify(itemRequestRepository, times(1)).findPageByOtherRequestors(eq(1L),
+                eq(cursor.getTimestamp()), eq(20L), eq(PageRequest.of(0, 11)));
+    }
+
     @Test
     void getRequestsOtherUsers_noValidArgumentException_requestParamIsIncorrect() {
         int from = -1;
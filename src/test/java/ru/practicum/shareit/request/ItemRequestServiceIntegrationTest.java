@@ -6,7 +6,10 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import ru.practicum.shareit.exception.NoFoundObjectException;
+import ru.practicum.shareit.item.ItemService;
 import ru.practicum.shareit.item.comment.CommentRequestDto;
+import ru.practicum.shareit.item.dto.ItemDto;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.RequestDto;
 import ru.practicum.shareit.user.UserService;
 import ru.practicum.shareit.user.dto.UserRequestDto;
@@ -25,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 class ItemRequestServiceIntegrationTest {
     private final ItemRequestService underTest;
     private final UserService userService;
+    private final ItemService itemService;
     private final EntityManager entityManager;
 
     @BeforeEach
@@ -64,6 +68,25 @@ class ItemRequestServiceIntegrationTest {
         assertThrows(NoFoundObjectException.class, () -> underTest.createRequest(request, 100L));
     }
 
+    @Test
+    void getRequestById_allItems_requestHasSeveralItems() {
+        UserResponseDto requestor = userService.createUser(createFirstUserDto());
+        UserResponseDto owner = userService.createUser(createSecondUserDto());
+
+        RequestDto createdRequest = underTest.createRequest(createRequestDto(), requestor.getId());
+        RequestDto emptyRequest = underTest.createRequest(createRequestDto(), requestor.getId());
+        itemService.createItem(createItemDto("Book", createdRequest.getId()), owner.getId());
+        itemService.createItem(createItemDto("Another book", createdRequest.getId()), owner.getId());
+
+        entityManager.flush();
+        entityManager.clear();
+
+        RequestDto result = underTest.getRequestById(owner.getId(), createdRequest.getId());
+
+        assertThat(result.getItems()).extracting(ItemDto::getName).containsExactly("Book", "Another book");
+        assertThat(underTest.getRequestById(owner.getId(), emptyRequest.getId()).getItems()).isEmpty();
+    }
+
     @Test
     void getOwnerRequestByUserId_notEmptyResultList_requestExist() {
         UserResponseDto createdUser = userService.createUser(createFirstUserDto());
@@ -72,7 +95,7 @@ class ItemRequestServiceIntegrationTest {
 
         RequestDto createdRequest = underTest.createRequest(requestDto, createdUser.getId());
 
-        List<RequestDto> result = underTest.getOwnerRequestByUserId(createdUser.getId());
+        List<RequestDto> result = underTest.getOwnerRequestByUserId(createdUser.getId(), null, 10).getRequests();
 
         assertThat(result).isNotEmpty();
         assertThat(result.get(0).getId()).isEqualTo(createdRequest.getId());
@@ -89,7 +112,7 @@ class ItemRequestServiceIntegrationTest {
 
         RequestDto createdRequest = underTest.createRequest(requestDto, createdUser1.getId());
 
-        List<RequestDto> result = underTest.getOwnerRequestByUserId(createdUser2.getId());
+        List<RequestDto> result = underTest.getOwnerRequestByUserId(createdUser2.getId(), null, 10).getRequests();
 
         assertThat(result).isEmpty();
     }
@@ -139,6 +162,15 @@ class ItemRequestServiceIntegrationTest {
                 .build();
     }
 
+    private static ItemRequestDto createItemDto(String name, Long requestId) {
+        return ItemRequestDto.builder()
+                .name(name)
+                .description("good book")
+                .available(true)
+                .requestId(requestId)
+                .build();
+    }
+
     private static RequestDto createRequestDto() {
         return RequestDto.builder()
                 .description("i need interesting book")
@@ -0,0 +1,93 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.user.User;
+import ru.practicum.shareit.web.KeysetCursor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestFeedTest {
+    static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 10, 0);
+
+    ItemRequestRepository itemRequestRepository;
+    RequestFeed underTest;
+
+    @BeforeEach
+    void prepare() {
+        itemRequestRepository = mock(ItemRequestRepository.class);
+        when(itemRequestRepository.findLatest(any()))
+                .thenReturn(List.of(request(3L, 1L, 3), request(2L, 2L, 2), request(1L, 1L, 1)));
+
+        underTest = new RequestFeed(itemRequestRepository, 3);
+        underTest.rebuild();
+    }
+
+    @Test
+    void find_otherUsersRequestsNewestFirst_feedIsComplete() {
+        assertThat(ids(underTest.find(2L, 0, 10))).containsExactly(3L, 1L);
+        assertThat(ids(underTest.find(1L, 0, 10))).containsExactly(2L);
+        assertThat(ids(underTest.find(2L, 1, 1))).containsExactly(1L);
+    }
+
+    @Test
+    void find_requestAdded_newestFirst() {
+        underTest.add(request(4L, 2L, 4));
+
+        assertThat(ids(underTest.find(1L, 0, 2))).containsExactly(4L, 2L);
+        assertThat(ids(underTest.find(3L, 0, 3))).containsExactly(4L, 3L, 2L);
+    }
+
+    @Test
+    void find_empty_pageRunsPastEvictedRequests() {
+        underTest.add(request(4L, 2L, 4));
+
+        assertThat(underTest.find(3L, 0, 4)).isEmpty();
+    }
+
+    @Test
+    void find_empty_feedNotBuiltFromWholeTable() {
+        when(itemRequestRepository.findLatest(any()))
+                .thenReturn(List.of(request(4L, 1L, 4), request(3L, 1L, 3), request(2L, 2L, 2), request(1L, 1L, 1)));
+        underTest.rebuild();
+
+        assertThat(ids(underTest.find(2L, 0, 2))).containsExactly(4L, 3L);
+        assertThat(underTest.find(2L, 0, 10)).isEmpty();
+    }
+
+    @Test
+    void findAfter_requestsAfterCursor_cursorInsideFeed() {
+        KeysetCursor cursor = new KeysetCursor(BASE.plusMinutes(3), 3L);
+
+        assertThat(ids(underTest.findAfter(5L, cursor, 10))).containsExactly(2L, 1L);
+        assertThat(ids(underTest.findAfter(2L, cursor, 10))).containsExactly(1L);
+    }
+
+    @Test
+    void removeRequestor_requestsOfUserDropped_userDeleted() {
+        underTest.removeRequestor(1L);
+
+        assertThat(ids(underTest.find(5L, 0, 10))).containsExactly(2L);
+    }
+
+    private static List<Long> ids(Optional<List<ItemRequest>> requests) {
+        return requests.orElseThrow().stream().map(ItemRequest::getId).collect(Collectors.toList());
+    }
+
+    private static ItemRequest request(Long id, Long requestorId, int minutes) {
+        return ItemRequest.builder()
+                .id(id)
+                .description("request " + id)
+                .requestor(User.builder().id(requestorId).build())
+                .created(BASE.plusMinutes(minutes))
+                .build();
+    }
+}
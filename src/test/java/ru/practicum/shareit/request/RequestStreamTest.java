@@ -0,0 +1,85 @@
+package ru.practicum.shareit.request;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.item.ItemSearchIndex;
+import ru.practicum.shareit.item.ItemService;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.request.dto.RequestDto;
+import ru.practicum.shareit.user.UserService;
+import ru.practicum.shareit.user.dto.UserRequestDto;
+import ru.practicum.shareit.user.dto.UserResponseDto;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static ru.practicum.shareit.event.EventStreams.awaitContent;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class RequestStreamTest {
+    @Autowired
+    MockMvc mvc;
+
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    ItemRequestService itemRequestService;
+
+    @Autowired
+    ItemService itemService;
+
+    @Autowired
+    RequestFeed requestFeed;
+
+    @Autowired
+    ItemSearchIndex itemSearchIndex;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    String userIdHeader = "X-Sharer-User-Id";
+
+    @AfterEach
+    void tearDown() {
+        JdbcTestUtils.deleteFromTables(jdbcTemplate, "items", "requests", "users");
+        requestFeed.rebuild();
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void streamRequests_requestAndItemEvents_otherUsersAnswer() throws Exception {
+        UserResponseDto subscriber = userService.createUser(UserRequestDto.builder()
+                .name("Mike").email("mike@mail.ru").build());
+        UserResponseDto other = userService.createUser(UserRequestDto.builder()
+                .name("Tom").email("tom@mail.ru").build());
+
+        MvcResult stream = mvc.perform(get("/requests/stream")
+                        .header(userIdHeader, subscriber.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        itemRequestService.createRequest(RequestDto.builder().description("i need a lamp").build(), other.getId());
+        RequestDto ownRequest = itemRequestService.createRequest(RequestDto.builder()
+                .description("i need a drill").build(), subscriber.getId());
+        itemService.createItem(ItemRequestDto.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .available(true)
+                .requestId(ownRequest.getId())
+                .build(), other.getId());
+
+        String events = awaitContent(stream, "Cordless drill");
+
+        assertThat(events).contains("event:request", "i need a lamp", "event:item");
+        assertThat(events).doesNotContain("i need a drill");
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.user;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Import throughput on H2. Not part of the regular test run; run with {@code mvn test -Pbenchmark}.
+ */
+@Slf4j
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = "spring.datasource.url=jdbc:h2:mem:user-batch-import-benchmark")
+class UserBatchImportBenchmark {
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    void createUsers_throughput_manyRows() {
+        int rows = 10_000;
+        String body = IntStream.range(0, rows)
+                .mapToObj(i -> String.format("{\"name\":\"user%s\",\"email\":\"u%s@mail.ru\"}", i, i))
+                .collect(Collectors.joining(",", "[", "]"));
+        AtomicInteger failed = new AtomicInteger();
+
+        long started = System.nanoTime();
+        userService.createUsers(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)), result -> {
+            if (result.getError() != null) {
+                failed.incrementAndGet();
+            }
+        });
+        long elapsedNanos = System.nanoTime() - started;
+
+        log.info("Batch import benchmark: {} rows/s", rows * 1_000_000_000L / elapsedNanos);
+        assertThat(failed).hasValue(0);
+        assertThat(userRepository.count()).isEqualTo(rows);
+    }
+}
@@ -0,0 +1,100 @@
+package ru.practicum.shareit.user;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.exception.NoValidArgumentException;
+import ru.practicum.shareit.user.dto.UserBatchResultDto;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.annotation.DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"spring.datasource.url=jdbc:h2:mem:user-batch-import", "shareit.user.import.batch-size=3"})
+@DirtiesContext(classMode = AFTER_EACH_TEST_METHOD)
+class UserBatchImportTest {
+    @Autowired
+    UserService userService;
+
+    @Autowired
+    UserRepository userRepository;
+
+    @Test
+    void createUsers_perRowResults_someRowsFail() {
+        userRepository.save(User.builder().name("Mike").email("mike@mail.ru").build());
+
+        String body = "[" +
+                "{\"name\":\"Tom\",\"email\":\"tom@mail.ru\"}," +
+                "{\"name\":\"Mike\",\"email\":\"mike@mail.ru\"}," +
+                "{\"name\":\"\",\"email\":\"empty@mail.ru\"}," +
+                "{\"name\":\"Sam\",\"email\":\"sam@mail.ru\"}," +
+                "{\"name\":\"Sam again\",\"email\":\"sam@mail.ru\"}," +
+                "{\"name\":\"Kate\",\"email\":\"kate@mail.ru\"}," +
+                "{\"name\":\"Tom again\",\"email\":\"tom@mail.ru\"}" +
+                "]";
+
+        List<UserBatchResultDto> results = importUsers(body);
+
+        assertThat(results).extracting(UserBatchResultDto::getIndex).containsExactly(0, 1, 2, 3, 4, 5, 6);
+        assertThat(results).filteredOn(result -> result.getError() == null)
+                .extracting(UserBatchResultDto::getEmail)
+                .containsExactly("tom@mail.ru", "sam@mail.ru", "kate@mail.ru");
+        assertThat(results).filteredOn(result -> result.getError() != null)
+                .extracting(UserBatchResultDto::getIndex)
+                .containsExactly(1, 2, 4, 6);
+        assertThat(results.get(0).getId()).isNotNull();
+        assertThat(userRepository.count()).isEqualTo(4);
+    }
+
+    @Test
+    void createUsers_ownErrorReported_nameTooLong() {
+        String body = "[" +
+                "{\"name\":\"Tom\",\"email\":\"tom@mail.ru\"}," +
+                "{\"name\":\"" + "a".repeat(300) + "\",\"email\":\"long@mail.ru\"}," +
+                "{\"name\":\"Sam\",\"email\":\"sam@mail.ru\"}" +
+                "]";
+
+        List<UserBatchResultDto> results = importUsers(body);
+
+        assertThat(results).extracting(UserBatchResultDto::getError)
+                .containsExactly(null, "User could not be saved", null);
+        assertThat(userRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void createUsers_noValidArgumentException_bodyIsNotArray() {
+        assertThrows(NoValidArgumentException.class,
+                () -> importUsers("{\"name\":\"Tom\",\"email\":\"tom@mail.ru\"}"));
+    }
+
+    @Test
+    void createUsers_errorResultLast_entryIsMalformed() {
+        String body = "[" +
+                "{\"name\":\"Tom\",\"email\":\"tom@mail.ru\"}," +
+                "{\"name\":\"Sam\",\"email\":\"sam@mail.ru\"}," +
+                "{\"name\":\"Kate\",";
+
+        List<UserBatchResultDto> results = importUsers(body);
+
+        assertThat(results).extracting(UserBatchResultDto::getIndex).containsExactly(0, 1, 2);
+        assertThat(results.get(2).getError()).startsWith("Malformed user");
+        assertThat(userRepository.count()).isEqualTo(2);
+    }
+
+    private List<UserBatchResultDto> importUsers(String body) {
+        List<UserBatchResultDto> results = new ArrayList<>();
+        userService.createUsers(stream(body), results::add);
+        return results;
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -12,14 +12,17 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 import ru.practicum.shareit.exception.NoFoundObjectException;
+import ru.practicum.shareit.user.dto.UserBatchResultDto;
 import ru.practicum.shareit.user.dto.UserRequestDto;
 
 import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
 import javax.validation.Validator;
 import javax.validation.ValidatorFactory;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertAll;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -233,6 +236,32 @@ class UserControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.email").value("mike@mail.ru"));
     }
 
+    @Test
+    void createUsers_statusOk_resultPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserBatchResultDto> results = invocation.getArgument(1);
+            results.accept(UserBatchResultDto.builder().index(0).id(1L).email("mike@mail.ru").build());
+            results.accept(UserBatchResultDto.builder()
+                    .index(1)
+                    .email("mike@mail.ru")
+                    .error("Email is already used")
+                    .build());
+            return null;
+        }).when(userService).createUsers(any(InputStream.class), any());
+
+        mvc.perform(post("/users/batch")
+                        .contentType(MediaType.APPLICATION_JSON_VALUE)
+                        .content("[{\"name\":\"Mike\",\"email\":\"mike@mail.ru\"}," +
+                                "{\"name\":\"Tom\",\"email\":\"mike@mail.ru\"}]"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(MockMvcResultMatchers.content().string(
+                        "{\"index\":0,\"id\":1,\"email\":\"mike@mail.ru\",\"error\":null}\n" +
+                                "{\"index\":1,\"id\":null,\"email\":\"mike@mail.ru\"," +
+                                "\"error\":\"Email is already used\"}\n"));
+    }
+
     @Test
     void createUser_statusOk_userExist() throws Exception {
         UserRequestDto userRequest = UserRequestDto.builder()
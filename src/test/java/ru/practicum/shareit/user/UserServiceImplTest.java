@@ -26,12 +26,17 @@ class UserServiceImplTest {
     @MockBean
     UserRepository userRepository;
 
+    @Autowired
+    UserCache userCache;
+
     User user1;
 
     User user2;
 
     @BeforeEach
     void prepare() {
+        userCache.invalidateAll();
+
         user1 = User.builder()
                 .id(1L)
                 .name("Nikita")
@@ -52,11 +57,11 @@ class UserServiceImplTest {
                 .email("nikita@mail.ru")
                 .build();
 
-        when(userRepository.save(any(User.class))).thenReturn(user1);
+        when(userRepository.saveAndFlush(any(User.class))).thenReturn(user1);
 
         underTest.createUser(request);
 
-        verify(userRepository, times(1)).save(any(User.class));
+        verify(userRepository, times(1)).saveAndFlush(any(User.class));
     }
 
     @Test
@@ -161,25 +166,82 @@ class UserServiceImplTest {
 
     @Test
     void checkExistUserById_notFoundObjectException_userIdIsIncorrect() {
-        when(userRepository.findById(anyLong()))
-                .thenReturn(Optional.empty());
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
 
         assertThrows(NoFoundObjectException.class, () -> underTest.checkExistUserById(100L));
     }
 
     @Test
     void checkExistUserById_returnTrue_userIsExist() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
+
+        underTest.checkExistUserById(1L);
+        verify(userRepository, times(1)).existsById(anyLong());
+        verify(userRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void checkExistUserById_servedFromCache_userWasFound() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
 
+        underTest.findUserById(1L);
         underTest.checkExistUserById(1L);
+
+        verify(userRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void findUserById_servedFromCache_secondCall() {
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user1));
+
+        User first = underTest.findUserById(1L);
+        User second = underTest.findUserById(1L);
+
         verify(userRepository, times(1)).findById(anyLong());
+        assertThat(second.getName()).isEqualTo("Nikita");
+        assertNotSame(first, second);
     }
 
     @Test
-    void deleteUserById_successfulDelete_userIsExist() {
+    void findUserById_reloaded_userWasUpdated() {
+        UserRequestDto request = UserRequestDto.builder().name("Nikita new").build();
+
+        when(userRepository.findById(anyLong()))
+                .thenReturn(Optional.ofNullable(user1));
+        when(userRepository.save(any(User.class)))
+                .thenReturn(user1);
+
+        underTest.findUserById(1L);
+        underTest.updateUserById(request, 1L);
+        User result = underTest.findUserById(1L);
+
+        verify(userRepository, times(3)).findById(anyLong());
+        assertThat(result.getName()).isEqualTo("Nikita new");
+    }
+
+    @Test
+    void checkExistUserById_notFoundObjectException_userWasDeleted() {
         when(userRepository.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user1));
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
+
+        underTest.findUserById(1L);
+        underTest.deleteUserById(1L);
+
+        assertThat(userCache.contains(1L)).isFalse();
+        assertThrows(NoFoundObjectException.class, () -> underTest.checkExistUserById(1L));
+        verify(userRepository, times(1)).existsById(1L);
+    }
+
+    @Test
+    void deleteUserById_successfulDelete_userIsExist() {
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(true);
 
         underTest.deleteUserById(1L);
 
@@ -188,8 +250,8 @@ class UserServiceImplTest {
 
     @Test
     void deleteUserById_notFoundObjectException_userIdIsIncorrect() {
-        doThrow(NoFoundObjectException.class)
-                .when(userRepository).findById(anyLong());
+        when(userRepository.existsById(anyLong()))
+                .thenReturn(false);
 
         assertThrows(NoFoundObjectException.class, () -> underTest.deleteUserById(100L));
     }